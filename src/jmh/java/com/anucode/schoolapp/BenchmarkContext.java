@@ -0,0 +1,47 @@
+package com.anucode.schoolapp;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Boots the application without a web server against an in-memory H2 database, for benchmarks
+ * that need real JPA infrastructure.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param overrides {@code --name=value} arguments replacing or adding to the defaults.
+     */
+    public static ConfigurableApplicationContext start(String... overrides) {
+        Map<String, String> args = new LinkedHashMap<>();
+        for (String arg : new String[]{
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--schoolapp.search.backend=memory",
+                "--logging.level.root=WARN"}) {
+            put(args, arg);
+        }
+        for (String arg : overrides) {
+            put(args, arg);
+        }
+        return new SpringApplicationBuilder(SchoolAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.values().toArray(String[]::new));
+    }
+
+    // a repeated --name=value would be bound as "first,second", so later arguments replace earlier ones
+    private static void put(Map<String, String> args, String arg) {
+        int separator = arg.indexOf('=');
+        args.put(separator < 0 ? arg : arg.substring(0, separator), arg);
+    }
+}
@@ -0,0 +1,166 @@
+package com.anucode.schoolapp;
+
+import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.services.StudentService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load test comparing the platform-thread and virtual-thread execution modes.
+ * Every connection is a client virtual thread that keeps one keyset page request
+ * ({@code GET /users?after=&size=20}, a JDBC round trip each) in flight for the whole run.
+ * <p>
+ * Usage: {@code mvn -Pjmh -DskipTests integration-test -Dbenchmark.main=com.anucode.schoolapp.StudentLoadTest
+ * -Dbenchmark.args="[connections] [seconds] [baseUrl] [--spring.property=value ...]"}.
+ * Without a base URL the application is started in-process once per mode on an in-memory H2
+ * database; {@code --} arguments are passed to it, e.g. to point it at MySQL instead. With a base
+ * URL an already running instance is measured once. The client shares the machine with the
+ * server, so compare the two modes with each other rather than with production numbers.
+ */
+public final class StudentLoadTest {
+
+    private static final int SEEDED_STUDENTS = 5_000;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+
+    private StudentLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = new ArrayList<>();
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--schoolapp.search.backend=memory",
+                "--server.tomcat.max-connections=10000",
+                "--logging.level.root=WARN"));
+        for (String arg : args) {
+            (arg.startsWith("--") ? applicationArgs : positional).add(arg);
+        }
+        int connections = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 5_000;
+        Duration duration = Duration.ofSeconds(positional.size() > 1 ? Long.parseLong(positional.get(1)) : 30);
+
+        List<Result> results = new ArrayList<>();
+        if (positional.size() > 2) {
+            results.add(run("external", positional.get(2), connections, duration));
+        } else {
+            results.add(runEmbedded("platform", false, applicationArgs, connections, duration));
+            results.add(runEmbedded("virtual", true, applicationArgs, connections, duration));
+        }
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %10s%n", "mode", "connections", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %12d %10.0f %10.1f %10.1f %10d%n",
+                    result.mode, connections, result.throughput, result.p50Millis, result.p99Millis, result.errors);
+        }
+    }
+
+    private static Result runEmbedded(String mode, boolean virtualThreads, List<String> applicationArgs,
+                                      int connections, Duration duration) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SchoolAppApplication.class);
+        if (virtualThreads) {
+            builder.profiles("virtual-threads");
+        }
+        try (ConfigurableApplicationContext context = builder.run(applicationArgs.toArray(new String[0]))) {
+            seed(context.getBean(StudentService.class));
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            return run(mode, baseUrl, connections, duration);
+        }
+    }
+
+    private static void seed(StudentService studentService) {
+        List<StudentRequestDTO> students = new ArrayList<>(SEEDED_STUDENTS);
+        for (int i = 0; i < SEEDED_STUDENTS; i++) {
+            students.add(new StudentRequestDTO("First" + i, "Last" + i, new Date(0), "Address " + i));
+        }
+        studentService.saveStudents(students);
+    }
+
+    private static Result run(String mode, String baseUrl, int connections, Duration duration) throws Exception {
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .executor(clientThreads)
+                     .build()) {
+            drive(client, clientThreads, baseUrl, connections, WARM_UP);
+            long start = System.nanoTime();
+            List<long[]> latencies = drive(client, clientThreads, baseUrl, connections, duration);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return Result.of(mode, latencies, seconds);
+        }
+    }
+
+    /**
+     * Returns one array per connection; each holds the latencies in nanoseconds of its successful
+     * requests, with a negative entry per failed request.
+     */
+    private static List<long[]> drive(HttpClient client, ExecutorService clientThreads, String baseUrl,
+                                      int connections, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> workers = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            workers.add(clientThreads.submit(() -> {
+                long[] samples = new long[256];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long after = ThreadLocalRandom.current().nextLong(SEEDED_STUDENTS);
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/users?after=" + after + "&size=20"))
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long sent = System.nanoTime();
+                    long latency;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latency = response.statusCode() == 200 ? System.nanoTime() - sent : -1;
+                    } catch (Exception ex) {
+                        latency = -1;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = latency;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+        List<long[]> latencies = new ArrayList<>(connections);
+        for (Future<long[]> worker : workers) {
+            latencies.add(worker.get());
+        }
+        return latencies;
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis, long errors) {
+
+        static Result of(String mode, List<long[]> latencies, double seconds) {
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).filter(latency -> latency >= 0).sorted().toArray();
+            long errors = latencies.stream().flatMapToLong(Arrays::stream).filter(latency -> latency < 0).count();
+            return new Result(mode, all.length / seconds, percentile(all, 0.50), percentile(all, 0.99), errors);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.anucode.schoolapp.config;
+
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes a page of students in each format offered by {@link WireFormatConfiguration},
+ * with the mappers configured the same way. The payload size of each format is printed on setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String format;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private StudentPageResponseDTO page;
+
+    private byte[] payload;
+
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "json" -> useMapper(builder.build());
+            case "smile" -> useMapper(WireFormatConfiguration.binaryMapper(builder, new SmileMapper()));
+            case "cbor" -> useMapper(WireFormatConfiguration.binaryMapper(builder, new CBORMapper()));
+            case "protobuf" -> {
+                ProtobufMapper protobufMapper = WireFormatConfiguration.protobufMapper(builder);
+                useMapper(protobufMapper);
+                writer = writer.with(protobufMapper.generateSchemaFor(StudentPageResponseDTO.class));
+                reader = reader.with(protobufMapper.generateSchemaFor(StudentPageResponseDTO.class));
+            }
+            default -> throw new IllegalArgumentException(format);
+        }
+        List<StudentResponseDTO> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(new StudentResponseDTO((long) i, "First" + i, "Last" + i, new Date(946684800000L + i * 86_400_000L), "Address " + i, 0L));
+        }
+        page = new StudentPageResponseDTO(students, (long) size, true);
+        payload = writer.writeValueAsBytes(page);
+        buffer = new ByteArrayOutputStream(payload.length);
+        System.out.println(format + " payload for " + size + " students: " + payload.length + " bytes");
+    }
+
+    private void useMapper(ObjectMapper objectMapper) {
+        writer = objectMapper.writerFor(StudentPageResponseDTO.class);
+        reader = objectMapper.readerFor(StudentPageResponseDTO.class);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        buffer.reset();
+        writer.writeValue(buffer, page);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public StudentPageResponseDTO decode() throws IOException {
+        return reader.readValue(payload);
+    }
+}
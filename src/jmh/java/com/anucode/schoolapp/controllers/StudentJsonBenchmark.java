@@ -0,0 +1,78 @@
+package com.anucode.schoolapp.controllers;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code StudentResponseDTO} lists returned by the controller, using
+ * an ObjectMapper configured like Spring Boot's default one. {@code serializer} selects the
+ * reflective BeanSerializer, the same with Blackbird, or the hand-written StudentResponseDTOSerializer.
+ * {@code writeStudentList} streams into a reused buffer the way the message converter writes to the
+ * response; {@code writeStudentListAsString} is the String round trip it avoids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentJsonBenchmark {
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private static abstract class ReflectiveSerialization {
+    }
+
+    @Param({"100", "10000"})
+    private int size;
+
+    @Param({"reflective", "blackbird", "handwritten"})
+    private String serializer;
+
+    private ObjectMapper objectMapper;
+
+    private List<StudentResponseDTO> students;
+
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (serializer) {
+            case "reflective" -> builder.mixIn(StudentResponseDTO.class, ReflectiveSerialization.class);
+            case "blackbird" -> builder.mixIn(StudentResponseDTO.class, ReflectiveSerialization.class)
+                    .modulesToInstall(new BlackbirdModule());
+            case "handwritten" -> { }
+            default -> throw new IllegalArgumentException(serializer);
+        }
+        objectMapper = builder.build();
+        students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(new StudentResponseDTO((long) i, "First" + i, "Last" + i, new Date(0), "Address " + i, 0L));
+        }
+        buffer = new ByteArrayOutputStream(size * 128);
+    }
+
+    @Benchmark
+    public int writeStudentList() throws IOException {
+        buffer.reset();
+        objectMapper.writeValue(buffer, students);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public byte[] writeStudentListAsString() throws IOException {
+        return objectMapper.writeValueAsString(students).getBytes();
+    }
+}
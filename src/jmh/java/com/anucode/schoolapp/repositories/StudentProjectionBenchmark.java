@@ -0,0 +1,81 @@
+package com.anucode.schoolapp.repositories;
+
+import com.anucode.schoolapp.BenchmarkContext;
+import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.models.Student;
+import com.anucode.schoolapp.services.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyset page reads loading Student entities and mapping them, as the service did before, against the
+ * constructor-expression queries that select straight into StudentResponseDTO. Each read runs in its own
+ * read-only transaction like the service methods. Run with {@code -prof gc} to compare allocation per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentProjectionBenchmark {
+
+    private static final int STUDENTS = 2_000;
+
+    @Param({"20", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private StudentRepository studentRepository;
+
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--spring.datasource.url=jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        studentRepository = context.getBean(StudentRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        List<StudentRequestDTO> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new StudentRequestDTO("Projection" + i, "Student" + i, new Date(0), "Colombo"));
+        }
+        context.getBean(StudentService.class).saveStudents(students);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<StudentResponseDTO> entityPage() {
+        return readOnly.execute(status -> {
+            List<Student> students = studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(pageSize));
+            List<StudentResponseDTO> responses = new ArrayList<>(students.size());
+            for (Student student : students) {
+                responses.add(new StudentResponseDTO(student.getId(), student.getFirstName(), student.getLastName(),
+                        student.getDateOfBirth(), student.getAddress(), 0L));
+            }
+            return responses;
+        });
+    }
+
+    @Benchmark
+    public List<StudentResponseDTO> projectionPage() {
+        return readOnly.execute(status -> studentRepository.findResponsesByIdGreaterThan(0L, Limit.of(pageSize)));
+    }
+}
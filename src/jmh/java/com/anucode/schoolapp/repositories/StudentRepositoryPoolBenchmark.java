@@ -0,0 +1,111 @@
+package com.anucode.schoolapp.repositories;
+
+import com.anucode.schoolapp.BenchmarkContext;
+import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.models.Student;
+import com.anucode.schoolapp.services.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyset page reads through {@link StudentRepository} from 16 threads, each call borrowing a pooled
+ * connection, across pool sizes and with the Connector/J statement cache on or off. Teardown prints the
+ * mean and max time spent waiting for a connection, and on MySQL the number of statements the server
+ * prepared. H2 ignores the statement-cache settings; pass {@code -p url=jdbc:mysql://...} (plus
+ * {@code -p username=... -p password=...}) to measure them against a seeded MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class StudentRepositoryPoolBenchmark {
+
+    private static final int STUDENTS = 5_000;
+
+    @Param({"2", "8", "16"})
+    private int poolSize;
+
+    @Param({"false", "true"})
+    private boolean statementCache;
+
+    @Param({"jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1"})
+    private String url;
+
+    @Param({"sa"})
+    private String username;
+
+    @Param({""})
+    private String password;
+
+    private ConfigurableApplicationContext context;
+
+    private StudentRepository studentRepository;
+
+    private long preparedBefore;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                "--spring.datasource.hikari.connection-timeout=30000",
+                "--spring.datasource.hikari.data-source-properties.cachePrepStmts=" + statementCache,
+                "--spring.datasource.hikari.data-source-properties.useServerPrepStmts=" + statementCache);
+        studentRepository = context.getBean(StudentRepository.class);
+        if (studentRepository.count() < STUDENTS) {
+            List<StudentRequestDTO> students = new ArrayList<>(STUDENTS);
+            for (int i = 0; i < STUDENTS; i++) {
+                students.add(new StudentRequestDTO("Pool" + i, "Student" + i, new Date(0), "Colombo"));
+            }
+            context.getBean(StudentService.class).saveStudents(students);
+        }
+        preparedBefore = preparedStatements();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Timer acquire = context.getBean(MeterRegistry.class).find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            System.out.printf("%npool=%d statementCache=%b: connection wait mean %.3f ms, max %.3f ms over %d acquisitions%n",
+                    poolSize, statementCache, acquire.mean(TimeUnit.MILLISECONDS), acquire.max(TimeUnit.MILLISECONDS), acquire.count());
+        }
+        if (isMySql()) {
+            System.out.printf("server prepared %d statements%n", preparedStatements() - preparedBefore);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public List<Student> readPage() {
+        long afterId = ThreadLocalRandom.current().nextLong(STUDENTS);
+        return studentRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(20));
+    }
+
+    private boolean isMySql() {
+        return url.startsWith("jdbc:mysql:");
+    }
+
+    private long preparedStatements() {
+        if (!isMySql()) {
+            return 0;
+        }
+        return context.getBean(JdbcTemplate.class).query("show global status like 'Com_stmt_prepare'",
+                resultSet -> resultSet.next() ? resultSet.getLong(2) : 0L);
+    }
+}
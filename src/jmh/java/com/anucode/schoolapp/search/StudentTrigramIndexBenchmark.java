@@ -0,0 +1,70 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentSuggestionDTO;
+import com.anucode.schoolapp.services.StudentService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StudentTrigramIndex#suggest} latency on a one-million-student index, sampled per call so
+ * JMH reports the p99 (the typeahead target is under 1 ms). Names are built from common syllables,
+ * so short prefixes match hundreds of thousands of students and long ones need several posting
+ * lists intersected; "zzq" matches nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class StudentTrigramIndexBenchmark {
+
+    private static final String[] SYLLABLES = {"a", "an", "ka", "ma", "ni", "ra", "sa", "ku", "pe", "re", "li", "na",
+            "th", "wi", "de", "si", "lo", "mi", "ha", "ya", "ru", "ge", "ta", "ko"};
+
+    private static final String[] STREETS = {"Galle Road", "Kandy Road", "Temple Lane", "Station Road", "Lake Drive",
+            "Flower Road", "Park Avenue", "Hill Street", "Main Street", "Sea Street"};
+
+    private static final String[] CITIES = {"Colombo", "Kandy", "Galle", "Jaffna", "Matara", "Negombo", "Kurunegala",
+            "Anuradhapura", "Ratnapura", "Badulla", "Trincomalee", "Batticaloa"};
+
+    @Param({"1000000"})
+    private int students;
+
+    @Param({"a", "ka", "per", "sani", "ana ra", "kamal pere", "galle road colombo", "zzq"})
+    private String prefix;
+
+    private StudentTrigramIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new StudentTrigramIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= students; id++) {
+            String address = (1 + random.nextInt(500)) + " " + STREETS[random.nextInt(STREETS.length)] + ", "
+                    + CITIES[random.nextInt(CITIES.length)];
+            index.add(id, name(random, 2), name(random, 3), address);
+        }
+        // the names above never produce "kamal pere", so seed a few exact matches for the long prefix
+        index.add(students + 1L, "Kamal", "Perera", "12 Galle Road, Colombo");
+        index.add(students + 2L, "Kamala", "Pereira", "7 Lake Drive, Kandy");
+    }
+
+    private static String name(SplittableRandom random, int maxSyllables) {
+        int syllables = 2 + random.nextInt(maxSyllables);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    @Benchmark
+    public List<StudentSuggestionDTO> suggest() {
+        return index.suggest(prefix, StudentService.DEFAULT_SUGGESTION_LIMIT);
+    }
+}
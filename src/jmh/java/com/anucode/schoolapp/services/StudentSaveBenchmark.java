@@ -0,0 +1,68 @@
+package com.anucode.schoolapp.services;
+
+import com.anucode.schoolapp.BenchmarkContext;
+import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentBatchResponseDTO;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end {@link StudentService#saveStudent(StudentRequestDTO)} and {@link StudentService#saveStudents(List)}
+ * against an embedded H2 database, every student with a new name, across id block sizes (1 is a
+ * student_seq round trip per insert). Absolute numbers are not MySQL numbers; compare runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentSaveBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"1", "50", "500"})
+    private int idIncrementSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private StudentService studentService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("--spring.jpa.properties.schoolapp.students.id-increment-size=" + idIncrementSize);
+        studentService = context.getBean(StudentService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(StudentRepository.class).deleteAllInBatch();
+        context.close();
+    }
+
+    @Benchmark
+    public Long saveStudent() {
+        long next = sequence.incrementAndGet();
+        return studentService.saveStudent(new StudentRequestDTO("First" + next, "Last" + next, new Date(0), "Colombo"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public StudentBatchResponseDTO saveStudents() {
+        List<StudentRequestDTO> students = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long next = sequence.incrementAndGet();
+            students.add(new StudentRequestDTO("First" + next, "Last" + next, new Date(0), "Colombo"));
+        }
+        return studentService.saveStudents(students);
+    }
+}
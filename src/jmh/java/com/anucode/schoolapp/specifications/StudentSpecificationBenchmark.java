@@ -0,0 +1,63 @@
+package com.anucode.schoolapp.specifications;
+
+import com.anucode.schoolapp.BenchmarkContext;
+import com.anucode.schoolapp.models.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criteria construction cost of {@link StudentSpecification#toPredicate} for one to three
+ * keywords, without executing the query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentSpecificationBenchmark {
+
+    @Param({"1", "3"})
+    private int keywordCount;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    private StudentSpecification specification;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        String[] keywords = {"anu", "colombo", "perera"};
+        String[] selected = new String[keywordCount];
+        System.arraycopy(keywords, 0, selected, 0, keywordCount);
+        specification = new StudentSpecification(selected);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<Student> toPredicate() {
+        CriteriaQuery<Student> query = criteriaBuilder.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        return query.where(predicate);
+    }
+}
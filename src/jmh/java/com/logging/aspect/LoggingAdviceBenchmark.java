@@ -0,0 +1,144 @@
+package com.logging.aspect;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.anucode.schoolapp.controllers.StudentController;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.services.StudentService;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of request logging around {@link StudentController#getStudentById(Long)}: the previous
+ * unguarded concatenating advice on a synchronous appender against {@link LoggingAdvice} on the async
+ * appender with its defaults (100 lines per second), uncapped, or sampled. Output goes to a discarding stream through Spring Boot's console pattern,
+ * so formatting is measured but no terminal I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingAdviceBenchmark {
+
+    private static final String CONSOLE_PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    /**
+     * none: no advice; legacy: previous LoggingAdvice on a sync appender; guarded: current advice with its
+     * defaults, async; uncapped: every call logged, async; sampled: 1%, uncapped
+     */
+    @Param({"none", "legacy", "guarded", "uncapped", "sampled"})
+    private String logging;
+
+    @Param({"INFO", "WARN"})
+    private String level;
+
+    private StudentController studentController;
+
+    @Setup
+    public void setUp() {
+        boolean async = !logging.equals("legacy");
+        configureLogback(Level.toLevel(level), async);
+
+        StudentController target = new StudentController();
+        StudentResponseDTO student = new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L);
+        ReflectionTestUtils.setField(target, "studentService", new StudentService() {
+            @Override
+            public StudentResponseDTO getStudentById(Long id) {
+                return student;
+            }
+        });
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        switch (logging) {
+            case "legacy" -> factory.addAspect(new LegacyLoggingAdvice());
+            case "guarded" -> factory.addAspect(new LoggingAdvice());
+            case "uncapped" -> {
+                LoggingAdvice loggingAdvice = new LoggingAdvice();
+                ReflectionTestUtils.setField(loggingAdvice, "maxRequestsPerSecond", 0);
+                factory.addAspect(loggingAdvice);
+            }
+            case "sampled" -> {
+                LoggingAdvice loggingAdvice = new LoggingAdvice();
+                ReflectionTestUtils.setField(loggingAdvice, "sampleRate", 0.01);
+                ReflectionTestUtils.setField(loggingAdvice, "maxRequestsPerSecond", 0);
+                factory.addAspect(loggingAdvice);
+            }
+            default -> {
+            }
+        }
+        studentController = factory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+    }
+
+    @Benchmark
+    public ResponseEntity<StudentResponseDTO> getStudentById() {
+        return studentController.getStudentById(1L);
+    }
+
+    private static void configureLogback(Level level, boolean async) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(CONSOLE_PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> appender = console;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName("ASYNC_CONSOLE");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(console);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(level);
+        root.addAppender(appender);
+    }
+
+    /** The advice as it was before level guards, parameterized messages and sampling. */
+    @Aspect
+    public static class LegacyLoggingAdvice {
+        private final Logger logger = LoggerFactory.getLogger(LegacyLoggingAdvice.class);
+
+        @Before("execution(* com.anucode.schoolapp.controllers..*(..))")
+        public void beforeMethodExecution(JoinPoint joinPoint) {
+            String methodName = joinPoint.getSignature().toShortString();
+            logger.info("Request received : "+methodName );
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.anucode.schoolapp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"com.anucode.schoolapp", "com.logging.aspect"})
 @EnableAspectJAutoProxy
-@ComponentScan(basePackages = {"com.anucode.schoolapp", "com.logging.aspect"})
+// the cache advisor wraps @Transactional, so a cache hit never opens a transaction and an async
+// cache load starts its own on the loader thread
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class SchoolAppApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,71 @@
+package com.anucode.schoolapp.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Experimental: resizes the Hikari pool at runtime from sampled load. The pool grows by the number of
+ * threads waiting for a connection and shrinks by one connection per interval while at most half of it
+ * is in use, always within [min-size, max-size]. Enabled by the adaptive-pool profile.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "schoolapp.datasource.adaptive-sizing.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    private final Logger logger = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${schoolapp.datasource.adaptive-sizing.min-size:4}")
+    private int minSize = 4;
+
+    @Value("${schoolapp.datasource.adaptive-sizing.max-size:40}")
+    private int maxSize = 40;
+
+    @Scheduled(fixedDelayString = "${schoolapp.datasource.adaptive-sizing.interval:PT5S}")
+    public void resize() {
+        HikariDataSource hikariDataSource = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        if (hikariDataSource == null || hikariDataSource.getHikariPoolMXBean() == null) {
+            return;
+        }
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        HikariConfigMXBean config = hikariDataSource.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        int next = nextMaximumPoolSize(current, active, waiting);
+        if (next == current) {
+            return;
+        }
+        if (config.getMinimumIdle() > next) {
+            config.setMinimumIdle(next);
+        }
+        config.setMaximumPoolSize(next);
+        logger.info("Resized pool {} from {} to {} connections (active {}, waiting {})",
+                config.getPoolName(), current, next, active, waiting);
+    }
+
+    int nextMaximumPoolSize(int current, int active, int waiting) {
+        int next = current;
+        if (waiting > 0) {
+            next = current + waiting;
+        } else if (active <= current / 2) {
+            next = current - 1;
+        }
+        return Math.max(minSize, Math.min(maxSize, next));
+    }
+}
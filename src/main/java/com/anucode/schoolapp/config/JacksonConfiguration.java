@@ -0,0 +1,19 @@
+package com.anucode.schoolapp.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers Blackbird with Spring Boot's ObjectMapper. It replaces the reflective getter and setter
+ * calls of bean (de)serializers with generated lambdas, which speeds up the request DTOs and the
+ * page wrappers. StudentResponseDTO bypasses it with its own serializer.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfiguration {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
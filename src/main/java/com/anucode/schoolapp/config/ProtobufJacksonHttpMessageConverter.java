@@ -0,0 +1,81 @@
+package com.anucode.schoolapp.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes protobuf through jackson-dataformat-protobuf. The schema for each class is
+ * generated from its Jackson properties on first use, so there are no .proto files or generated
+ * classes to keep in step with the DTOs; {@link #getSchema(Class)} returns the text clients compile.
+ * Only the classes given to the constructor are handled, because protobuf needs a message at the root.
+ */
+public class ProtobufJacksonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final ProtobufMapper protobufMapper;
+
+    private final Set<Class<?>> supportedClasses;
+
+    private final Map<Class<?>, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    public ProtobufJacksonHttpMessageConverter(ProtobufMapper protobufMapper, Class<?>... supportedClasses) {
+        super(APPLICATION_PROTOBUF);
+        this.protobufMapper = protobufMapper;
+        this.supportedClasses = Set.of(supportedClasses);
+    }
+
+    /**
+     * @return the proto2 schema the given class is written with.
+     */
+    public String getSchema(Class<?> type) {
+        return schemaFor(type).getSource().toString();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return supportedClasses.contains(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return protobufMapper.readerFor(clazz).with(schemaFor(clazz)).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Could not read protobuf: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            protobufMapper.writer(schemaFor(object.getClass())).writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        } catch (JsonMappingException e) {
+            throw new HttpMessageNotWritableException("Could not write protobuf: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private ProtobufSchema schemaFor(Class<?> type) {
+        return schemas.computeIfAbsent(type, key -> {
+            try {
+                return protobufMapper.generateSchemaFor(key);
+            } catch (JsonMappingException e) {
+                throw new IllegalStateException("Cannot generate a protobuf schema for " + key.getName(), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.anucode.schoolapp.config;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import static com.anucode.schoolapp.config.WireFormatConfiguration.binaryMapper;
+
+/**
+ * The WebFlux side of {@link WireFormatConfiguration}. The reactive profile offers Smile only:
+ * WebFlux's CBOR encoder cannot write a Flux, and as a custom codec it would be picked ahead of
+ * JSON for clients that accept anything. Smile replaces the default codec, which comes after JSON,
+ * so it gets the configured mapper.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReactiveWireFormatConfiguration implements WebFluxConfigurer {
+
+    private static final MimeType APPLICATION_SMILE = new MimeType("application", "x-jackson-smile");
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        SmileMapper smileMapper = binaryMapper(objectMapperBuilder.getObject(), new SmileMapper());
+        // without explicit types these codecs would claim application/json
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, APPLICATION_SMILE));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, APPLICATION_SMILE));
+    }
+}
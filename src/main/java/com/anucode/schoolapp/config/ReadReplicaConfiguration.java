@@ -0,0 +1,76 @@
+package com.anucode.schoolapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, enabled by setting {@code schoolapp.datasource.replica.url}. The primary pool is
+ * built from {@code spring.datasource.*} as usual; the replica pool takes the same Hikari settings, then
+ * any {@code schoolapp.datasource.replica.hikari.*} overrides, and reuses the primary credentials unless
+ * {@code schoolapp.datasource.replica.username/password} are set. The application DataSource routes
+ * {@code @Transactional(readOnly = true)} work to the replica through {@link ReadReplicaRoutingDataSource}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@ConditionalOnProperty(name = "schoolapp.datasource.replica.url")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindHikari(environment, dataSource, "spring.datasource.hikari");
+        return dataSource;
+    }
+
+    @Bean
+    public DataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty("schoolapp.datasource.replica.url"))
+                .username(environment.getProperty("schoolapp.datasource.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("schoolapp.datasource.replica.password", properties.determinePassword()))
+                .build();
+        bindHikari(environment, dataSource, "spring.datasource.hikari");
+        // pool names tag the hikaricp meters, so the replica must not share the primary's
+        dataSource.setPoolName(StringUtils.hasText(dataSource.getPoolName()) ? dataSource.getPoolName() + "-replica" : "replica");
+        bindHikari(environment, dataSource, "schoolapp.datasource.replica.hikari");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${schoolapp.datasource.replica.max-lag:PT5S}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica, replicaLagMonitor));
+    }
+
+    private static void bindHikari(Environment environment, HikariDataSource dataSource, String prefix) {
+        Binder.get(environment).bind(prefix, Bindable.ofInstance(dataSource));
+    }
+}
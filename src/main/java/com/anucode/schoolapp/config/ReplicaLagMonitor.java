@@ -0,0 +1,90 @@
+package com.anucode.schoolapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replica lag with a heartbeat row (created by the V5 migration): every probe reads the replica's
+ * copy of {@value #HEARTBEAT_TABLE}, compares it with the last timestamp this instance wrote to the primary,
+ * then writes a new one. The replica
+ * is usable while the lag is within {@code schoolapp.datasource.replica.max-lag} and the probe succeeds;
+ * until the first successful probe, and whenever it fails, reads stay on the primary.
+ */
+public class ReplicaLagMonitor {
+
+    public static final String HEARTBEAT_TABLE = "replica_heartbeat";
+
+    private final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+
+    private long lastWrittenBeat;
+    private volatile long lagMillis = -1;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        TimeGauge.builder("schoolapp.datasource.replica.lag", this, TimeUnit.MILLISECONDS, ReplicaLagMonitor::getLagMillis)
+                .description("Replica lag measured by the last heartbeat probe, -1 when the probe failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${schoolapp.datasource.replica.lag-probe-interval:PT1S}",
+            initialDelayString = "${schoolapp.datasource.replica.lag-probe-interval:PT1S}")
+    public void probe() {
+        boolean usable;
+        try {
+            Long replicaBeat = replica.queryForObject("select beat_millis from " + HEARTBEAT_TABLE + " where id = 1", Long.class);
+            if (lastWrittenBeat == 0) {
+                // nothing written yet to compare against
+                usable = false;
+            } else {
+                // other instances write the same row, so the replica may be ahead of this instance's last beat
+                lagMillis = Math.max(0, lastWrittenBeat - (replicaBeat == null ? 0 : replicaBeat));
+                usable = lagMillis <= maxLag.toMillis();
+            }
+        } catch (DataAccessException ex) {
+            lagMillis = -1;
+            usable = false;
+            logger.warn("Replica heartbeat probe failed: {}", ex.getMessage());
+        }
+        if (usable && !replicaUsable) {
+            logger.info("Replica is {} ms behind, routing read-only transactions to it", lagMillis);
+        } else if (!usable && replicaUsable) {
+            logger.warn("Replica is unavailable or {} ms behind, routing read-only transactions to the primary", lagMillis);
+        }
+        replicaUsable = usable;
+        writeBeat();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    private void writeBeat() {
+        long beat = System.currentTimeMillis();
+        try {
+            primary.update("update " + HEARTBEAT_TABLE + " set beat_millis = ? where id = 1", beat);
+            lastWrittenBeat = beat;
+        } catch (DataAccessException ex) {
+            logger.warn("Could not write the replica heartbeat to the primary: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.anucode.schoolapp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.Executors;
+
+/**
+ * With virtual threads enabled, a synchronous Caffeine cache would run {@code @Cacheable(sync = true)}
+ * loads inside {@code ConcurrentHashMap.compute}, i.e. a JDBC call under a monitor, which pins the
+ * carrier thread. Async mode runs the load on its own virtual thread and lets concurrent callers
+ * wait on the shared future instead, so misses are still coalesced. The cache advisor is ordered
+ * outside the transaction advisor, so the loader opens its {@code @Transactional} on its own thread.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadCacheConfiguration {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCaffeineCustomizer(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(caffeine.executor(Executors.newVirtualThreadPerTaskExecutor()));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+}
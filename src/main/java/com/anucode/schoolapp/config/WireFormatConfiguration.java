@@ -0,0 +1,84 @@
+package com.anucode.schoolapp.config;
+
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSearchPageResponseDTO;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary alternatives to JSON for clients that parse large student lists, chosen by the Accept
+ * header: Smile ({@code application/x-jackson-smile}), CBOR ({@code application/cbor}) and
+ * protobuf ({@code application/x-protobuf}). They sit behind the JSON converter, so a
+ * request without one of these types in Accept still gets JSON. Their mappers come from Boot's
+ * builder like the JSON one, but write dates as epoch milliseconds.
+ * {@link ReactiveWireFormatConfiguration} covers the reactive profile.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfiguration implements WebMvcConfigurer {
+
+    /** Protobuf schemas are generated from bean properties, which the hand-written JSON serializer hides. */
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private static abstract class BeanSerialization {
+    }
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    /**
+     * Spring MVC registers Smile and CBOR converters on its own when the libraries are present,
+     * but with plain mappers; those are reconfigured here, and protobuf is added last.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        boolean smile = false;
+        boolean cbor = false;
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter smileConverter) {
+                smileConverter.setObjectMapper(binaryMapper(new SmileMapper()));
+                smile = true;
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter cborConverter) {
+                cborConverter.setObjectMapper(binaryMapper(new CBORMapper()));
+                cbor = true;
+            }
+        }
+        if (!smile) {
+            converters.add(new MappingJackson2SmileHttpMessageConverter(binaryMapper(new SmileMapper())));
+        }
+        if (!cbor) {
+            converters.add(new MappingJackson2CborHttpMessageConverter(binaryMapper(new CBORMapper())));
+        }
+        converters.add(new ProtobufJacksonHttpMessageConverter(protobufMapper(objectMapperBuilder.getObject()),
+                StudentResponseDTO.class, StudentPageResponseDTO.class, StudentSearchPageResponseDTO.class));
+    }
+
+    private <T extends ObjectMapper> T binaryMapper(T objectMapper) {
+        return binaryMapper(objectMapperBuilder.getObject(), objectMapper);
+    }
+
+    static ProtobufMapper protobufMapper(Jackson2ObjectMapperBuilder builder) {
+        ProtobufMapper protobufMapper = binaryMapper(builder, new ProtobufMapper());
+        protobufMapper.addMixIn(StudentResponseDTO.class, BeanSerialization.class);
+        return protobufMapper;
+    }
+
+    static <T extends ObjectMapper> T binaryMapper(Jackson2ObjectMapperBuilder builder, T objectMapper) {
+        builder.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).configure(objectMapper);
+        return objectMapper;
+    }
+}
@@ -0,0 +1,164 @@
+package com.anucode.schoolapp.controllers;
+
+
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSearchPageResponseDTO;
+import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
+import com.anucode.schoolapp.export.StudentExportFormat;
+import com.anucode.schoolapp.export.StudentExporter;
+import com.anucode.schoolapp.search.StudentSearchCursor;
+import com.anucode.schoolapp.search.StudentSearchSort;
+import com.anucode.schoolapp.services.ReactiveStudentService;
+import com.anucode.schoolapp.services.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CharSequenceEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of {@link StudentController} for the reactive profile, serving the read
+ * endpoints without blocking a thread per request. Lists are written to the response as rows
+ * arrive from R2DBC, and the client's read rate propagates back to the database cursor.
+ */
+@RestController
+@RequestMapping("/users")
+@Profile("reactive")
+public class ReactiveStudentController {
+
+    @Autowired
+    private ReactiveStudentService reactiveStudentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+
+    /**
+     * Retrieves one page of students ordered by id, using the id of the last student seen as the cursor.
+     *
+     * @param after The id of the last student of the previous page. Omit it to get the first page.
+     * @param size The maximum number of students to return, capped at StudentService.MAX_PAGE_SIZE.
+     * @return A Mono emitting the page of StudentResponseDTO objects and the cursor for the next page, with an
+     *         ETag over the students' versions; a matching If-None-Match gets 304 without a body.
+     */
+    @GetMapping()
+    public Mono<ResponseEntity<StudentPageResponseDTO>> getAll(@RequestParam(required = false) Long after,
+                                                               @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int size){
+        return reactiveStudentService.getStudentPage(after, size)
+                .map(studentPage -> ResponseEntity.ok()
+                        .eTag(StudentETags.of(studentPage.getContent(), studentPage.getNextCursor(), studentPage.isHasNext()))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(studentPage));
+    }
+
+
+    /**
+     * Streams every student (after the optional cursor) as a JSON array, or as newline-delimited
+     * JSON when the client accepts application/x-ndjson.
+     *
+     * @param after The id to start after. Omit it to stream from the beginning.
+     * @return A Flux of StudentResponseDTO objects in id order.
+     */
+    @GetMapping(params = "stream=true")
+    public Flux<StudentResponseDTO> streamAll(@RequestParam(required = false) Long after){
+        return reactiveStudentService.streamStudents(after);
+    }
+
+
+    /**
+     * Exports every student as a file download, streamed row by row from the database.
+     *
+     * @param format The export format: "ndjson" (one JSON object per line, the default) or "csv".
+     * @return A ResponseEntity whose body emits the export one record at a time.
+     * @throws ResponseStatusException with status 400 if the format is not supported.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportStudents(@RequestParam(defaultValue = "ndjson") String format){
+        StudentExportFormat exportFormat;
+        try {
+            exportFormat = StudentExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Flux<StudentResponseDTO> students = reactiveStudentService.streamStudents(null);
+        // both formats share one return type, so encode here: Jackson writes each NDJSON row straight into a buffer
+        Flux<DataBuffer> body = switch (exportFormat) {
+            case NDJSON -> new Jackson2JsonEncoder(objectMapper).encode(students, DefaultDataBufferFactory.sharedInstance,
+                    ResolvableType.forClass(StudentResponseDTO.class), MediaType.APPLICATION_NDJSON, null);
+            case CSV -> CharSequenceEncoder.allMimeTypes().encode(
+                    Flux.concat(Mono.just(StudentExporter.CSV_HEADER + "\r\n"), students.map(StudentExporter::toCsvRow)),
+                    DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(String.class), exportFormat.getMediaType(), null);
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("students." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+
+    /**
+     * Retrieves a student from the database by their ID.
+     *
+     * @param id The ID of the student to retrieve.
+     * @return A Mono emitting the StudentResponseDTO of the student with the specified ID, with the student's
+     *         version as ETag; a matching If-None-Match gets 304 without a body.
+     * @throws ResourceNotFoundException (signalled through the Mono) if no student has the ID.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<StudentResponseDTO>> getStudentById(@PathVariable Long id){
+        return reactiveStudentService.getStudentById(id)
+                .map(student -> ResponseEntity.ok()
+                        .eTag(StudentETags.of(student))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(student));
+    }
+
+
+    /**
+     * Searches students whose firstName, lastName or address contain every given keyword, one page at a time.
+     *
+     * @param keywords Space separated keywords; every keyword has to match. Omit them to page through every student.
+     * @param sort The order: "relevance" (the default, served in id order), "id" or "lastName".
+     * @param after The nextCursor of the previous page, for the same keywords and sort. Omit it to get the first page.
+     * @param size The maximum number of students to return, capped at StudentService.MAX_PAGE_SIZE.
+     * @return A Mono emitting the page of StudentResponseDTO objects and the cursor for the next page, with an
+     *         ETag over the students' versions; a matching If-None-Match gets 304 without a body.
+     * @throws ResponseStatusException with status 400 if the sort is not supported or the cursor is invalid.
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<StudentSearchPageResponseDTO>> searchStudent(@RequestParam(required = false) String keywords,
+                                                                            @RequestParam(defaultValue = "relevance") String sort,
+                                                                            @RequestParam(required = false) String after,
+                                                                            @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int size){
+        StudentSearchSort searchSort;
+        StudentSearchCursor cursor;
+        try {
+            searchSort = StudentSearchSort.fromParameter(sort);
+            cursor = after == null || after.isEmpty() ? null : StudentSearchCursor.decode(after, searchSort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        String[] keywordsArray = keywords == null || keywords.isBlank() ? new String[0] : keywords.trim().split("\\s+");
+        return reactiveStudentService.searchStudent(keywordsArray, searchSort, cursor, size)
+                .map(studentPage -> ResponseEntity.ok()
+                        .eTag(StudentETags.of(studentPage.getContent(), studentPage.getNextCursor(), studentPage.isHasNext()))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(studentPage));
+    }
+}
@@ -1,38 +1,128 @@
 package com.anucode.schoolapp.controllers;
 
 
+import com.anucode.schoolapp.dto.requestDto.StudentBulkUpdateRequestDTO;
 import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentBatchResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
 import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSearchPageResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSuggestionDTO;
+import com.anucode.schoolapp.exceptions.BatchSizeExceededException;
 import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
 import com.anucode.schoolapp.exceptions.StudentIdInvalidException;
 import com.anucode.schoolapp.exceptions.StudentNameAlreadyExistsException;
+import com.anucode.schoolapp.export.StudentExportFormat;
+import com.anucode.schoolapp.export.StudentExporter;
+import com.anucode.schoolapp.search.StudentSearchCursor;
+import com.anucode.schoolapp.search.StudentSearchSort;
 import com.anucode.schoolapp.services.StudentService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/users")
+@Profile("!reactive")
 public class StudentController {
 
     private final Logger logger = LoggerFactory.getLogger(StudentController.class);
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentExporter studentExporter;
+
 
     /**
-     * Retrieves all students from the database.
+     * Retrieves one page of students ordered by id, using the id of the last student seen as the cursor.
      *
-     * @return A ResponseEntity containing a list of StudentResponseDTO objects representing all students.
+     * @param after The id of the last student of the previous page. Omit it to get the first page.
+     * @param size The maximum number of students to return, capped at StudentService.MAX_PAGE_SIZE.
+     * @return A ResponseEntity containing the page of StudentResponseDTO objects and the cursor for the next page,
+     *         with an ETag over the students' versions; a matching If-None-Match gets 304 without a body.
      */
     @GetMapping()
-    public ResponseEntity<List<StudentResponseDTO>> getAll(){
-        List<StudentResponseDTO> studentDtoList = studentService.getAllStudents();
-        return ResponseEntity.ok(studentDtoList);
+    public ResponseEntity<StudentPageResponseDTO> getAll(@RequestParam(required = false) Long after,
+                                                         @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int size){
+        StudentPageResponseDTO studentPage = studentService.getStudentPage(after, size);
+        return ResponseEntity.ok()
+                .eTag(StudentETags.of(studentPage.getContent(), studentPage.getNextCursor(), studentPage.isHasNext()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(studentPage);
+    }
+
+
+    /**
+     * Streams every student (after the optional cursor) as a single JSON array, writing each record
+     * to the response as it is read from the database instead of building the list in memory.
+     *
+     * @param after The id to start after. Omit it to stream from the beginning.
+     * @return A ResponseEntity whose body writes the JSON array of StudentResponseDTO objects.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam(required = false) Long after){
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                studentService.streamStudents(after, student -> {
+                    try {
+                        generator.writeObject(student);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+
+    /**
+     * Exports every student as a file download, streamed row by row from the database.
+     *
+     * @param format The export format: "ndjson" (one JSON object per line, the default) or "csv".
+     * @return A ResponseEntity whose body writes the export as it is read.
+     * @throws ResponseStatusException with status 400 if the format is not supported.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "ndjson") String format){
+        StudentExportFormat exportFormat;
+        try {
+            exportFormat = StudentExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        StreamingResponseBody body = outputStream -> studentExporter.export(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("students." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
 
@@ -40,13 +130,18 @@ public class StudentController {
      * Retrieves a student from the database by their ID.
      *
      * @param id The ID of the student to retrieve.
-     * @return A ResponseEntity containing a StudentResponseDTO object representing the student with the specified ID.
+     * @return A ResponseEntity containing a StudentResponseDTO object representing the student with the specified ID,
+     *         with the student's version as ETag. A matching If-None-Match gets 304 without a body, and without
+     *         a database read while the student is in the service cache.
      * @throws ResourceNotFoundException if the provided ID is not valid.
      */
     @GetMapping("/{id}")
     public ResponseEntity<StudentResponseDTO> getStudentById(@PathVariable @Valid Long id) throws ResourceNotFoundException {
         StudentResponseDTO studentResponseDTO = studentService.getStudentById(id);
-        return ResponseEntity.ok(studentResponseDTO);
+        return ResponseEntity.ok()
+                .eTag(StudentETags.of(studentResponseDTO))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(studentResponseDTO);
     }
 
 
@@ -64,6 +159,20 @@ public class StudentController {
     }
 
 
+    /**
+     * Saves a batch of new students in a single request.
+     *
+     * @param students The StudentRequestDTO objects to be saved. Each one is validated on its own.
+     * @return A ResponseEntity containing the number of created students and a CREATED, DUPLICATE or INVALID result per item.
+     * @throws BatchSizeExceededException if more than StudentService.MAX_BATCH_SIZE students are sent.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StudentBatchResponseDTO> saveStudents(@RequestBody List<StudentRequestDTO> students) throws BatchSizeExceededException {
+        StudentBatchResponseDTO response = studentService.saveStudents(students);
+        return ResponseEntity.ok(response);
+    }
+
+
     /**
      * Updates an existing student in the database with the provided ID.
      *
@@ -92,16 +201,78 @@ public class StudentController {
     }
 
 
+    /**
+     * Applies the same address and/or dateOfBirth to many students with a single set-based update.
+     *
+     * @param request The ids to update and the new field values.
+     * @return A ResponseEntity containing the number of updated rows and an UPDATED or NOT_FOUND result per id.
+     * @throws BatchSizeExceededException if more than StudentService.MAX_BATCH_SIZE ids are sent.
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<StudentBatchResponseDTO> updateStudents(@RequestBody @Valid StudentBulkUpdateRequestDTO request) throws BatchSizeExceededException {
+        StudentBatchResponseDTO response = studentService.updateStudents(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Deletes many students with a single set-based delete.
+     *
+     * @param ids The ids of the students to be deleted.
+     * @return A ResponseEntity containing the number of deleted rows and a DELETED or NOT_FOUND result per id.
+     * @throws BatchSizeExceededException if more than StudentService.MAX_BATCH_SIZE ids are sent.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<StudentBatchResponseDTO> deleteStudents(@RequestBody List<Long> ids) throws BatchSizeExceededException {
+        StudentBatchResponseDTO response = studentService.deleteStudents(ids);
+        return ResponseEntity.ok(response);
+    }
+
+
+    /**
+     * Searches students by keywords over firstName, lastName and address, one page at a time.
+     *
+     * @param keywords Space separated keywords; every keyword has to match. Omit them to page through every student.
+     * @param sort The order: "relevance" (best match first, the default), "id" or "lastName".
+     * @param after The nextCursor of the previous page, for the same keywords and sort. Omit it to get the first page.
+     * @param size The maximum number of students to return, capped at StudentService.MAX_PAGE_SIZE.
+     * @return A ResponseEntity containing the page of StudentResponseDTO objects and the cursor for the next page,
+     *         with an ETag over the students' versions; a matching If-None-Match gets 304 without a body.
+     * @throws ResponseStatusException with status 400 if the sort is not supported or the cursor is invalid.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<StudentResponseDTO>> searchStudent(@RequestParam(required = false) String keywords){
-        List<StudentResponseDTO> studentList;
-
-        if(keywords==null || keywords.isEmpty()){
-            studentList = studentService.getAllStudents();
-        }else{
-            String[] keywordsArray = keywords.split("\\s+");
-            studentList = studentService.searchStudent(keywordsArray);
+    public ResponseEntity<StudentSearchPageResponseDTO> searchStudent(@RequestParam(required = false) String keywords,
+                                                                      @RequestParam(defaultValue = "relevance") String sort,
+                                                                      @RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int size){
+        StudentSearchSort searchSort;
+        StudentSearchCursor cursor;
+        try {
+            searchSort = StudentSearchSort.fromParameter(sort);
+            cursor = after == null || after.isEmpty() ? null : StudentSearchCursor.decode(after, searchSort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
-        return ResponseEntity.ok(studentList);
+        String[] keywordsArray = keywords == null || keywords.isBlank() ? new String[0] : keywords.trim().split("\\s+");
+        StudentSearchPageResponseDTO studentPage = studentService.searchStudent(keywordsArray, searchSort, cursor, size);
+        return ResponseEntity.ok()
+                .eTag(StudentETags.of(studentPage.getContent(), studentPage.getNextCursor(), studentPage.isHasNext()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(studentPage);
+    }
+
+
+    /**
+     * Suggests students whose first name, last name or address has a word starting with the given prefix.
+     * Name matches come first. Served from memory, so it is cheap enough to call on every keystroke.
+     *
+     * @param prefix The text typed so far.
+     * @param limit The maximum number of suggestions, capped at StudentService.MAX_SUGGESTION_LIMIT.
+     * @return A ResponseEntity containing the matching StudentSuggestionDTO objects.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<StudentSuggestionDTO>> suggestStudents(@RequestParam(defaultValue = "") String prefix,
+                                                                      @RequestParam(defaultValue = "" + StudentService.DEFAULT_SUGGESTION_LIMIT) int limit){
+        List<StudentSuggestionDTO> suggestions = studentService.suggestStudents(prefix, limit);
+        return ResponseEntity.ok(suggestions);
     }
 }
@@ -0,0 +1,48 @@
+package com.anucode.schoolapp.controllers;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * ETags for student responses, derived from the version column instead of the response bytes, so
+ * they are known before anything is serialized and Spring can answer If-None-Match with 304 straight
+ * away. They are weak: the same student is served as JSON, Smile, CBOR or protobuf and possibly
+ * gzipped, and Tomcat does not compress responses that carry a strong ETag.
+ */
+final class StudentETags {
+
+    private StudentETags() {
+    }
+
+    static String of(StudentResponseDTO student) {
+        return "W/\"" + student.getId() + "-" + student.getVersion() + "\"";
+    }
+
+    /**
+     * Digest of the id and version of every student in a page plus its paging state, so an update,
+     * insert or delete that shows up in the page gives a new ETag.
+     */
+    static String of(List<StudentResponseDTO> students, Object nextCursor, boolean hasNext) {
+        StringBuilder key = new StringBuilder(students.size() * 16 + 32);
+        for (StudentResponseDTO student : students) {
+            key.append(student.getId()).append(':').append(student.getVersion()).append(';');
+        }
+        key.append(nextCursor).append(';').append(hasNext);
+        byte[] hash = sha256().digest(key.toString().getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
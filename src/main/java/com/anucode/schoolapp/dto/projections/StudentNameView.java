@@ -0,0 +1,11 @@
+package com.anucode.schoolapp.dto.projections;
+
+/**
+ * Read-only projection of the (firstName, lastName) pair covered by UQ_firstName_LastName.
+ */
+public interface StudentNameView {
+
+    String getFirstName();
+
+    String getLastName();
+}
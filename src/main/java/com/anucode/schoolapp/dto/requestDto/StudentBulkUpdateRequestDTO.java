@@ -0,0 +1,36 @@
+package com.anucode.schoolapp.dto.requestDto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Past;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Applies the same address and/or dateOfBirth to every listed student. Names are not bulk-updatable
+ * because (firstName, lastName) is unique.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentBulkUpdateRequestDTO {
+
+    @NotEmpty(message = "ids should not be null or empty")
+    private List<Long> ids;
+
+    @Past(message = "dateOfBirth is invalid")
+    private Date dateOfBirth;
+
+    private String address;
+
+    @JsonIgnore
+    @AssertTrue(message = "address or dateOfBirth should be given")
+    public boolean isAnyFieldGiven() {
+        return dateOfBirth != null || (address != null && !address.isBlank());
+    }
+}
@@ -0,0 +1,10 @@
+package com.anucode.schoolapp.dto.responseDto;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    DUPLICATE,
+    INVALID,
+    NOT_FOUND
+}
@@ -0,0 +1,20 @@
+package com.anucode.schoolapp.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentBatchItemResultDTO {
+
+    /** position of the item in the request body */
+    private int index;
+
+    private Long id;
+
+    private BatchItemStatus status;
+
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.anucode.schoolapp.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentBatchResponseDTO {
+
+    private int affectedRows;
+
+    private List<StudentBatchItemResultDTO> results;
+}
@@ -0,0 +1,20 @@
+package com.anucode.schoolapp.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentPageResponseDTO {
+
+    private List<StudentResponseDTO> content;
+
+    /** id of the last student in this page; pass it back as {@code after} to get the next page. */
+    private Long nextCursor;
+
+    private boolean hasNext;
+}
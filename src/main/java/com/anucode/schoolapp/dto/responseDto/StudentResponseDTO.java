@@ -1,11 +1,14 @@
 package com.anucode.schoolapp.dto.responseDto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.Date;
@@ -13,6 +16,7 @@ import java.util.Date;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonSerialize(using = StudentResponseDTOSerializer.class)
 public class StudentResponseDTO {
 
     @NotBlank(message = "id should not be null or blank")
@@ -30,4 +34,9 @@ public class StudentResponseDTO {
 
     @NotBlank(message = "address should not be null or blank")
     private String address;
+
+    /** version of the student row; sent as the ETag rather than in the body */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -0,0 +1,72 @@
+package com.anucode.schoolapp.dto.responseDto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Writes StudentResponseDTO field by field with pre-encoded property names, skipping the bean
+ * property introspection and per-property serializer lookups of the default BeanSerializer.
+ * The output is the same as before: every property in declaration order, nulls included, and
+ * dateOfBirth in the StdDateFormat pattern ({@code 2000-05-05T00:00:00.000+00:00}) formatted
+ * with java.time instead of a cloned SimpleDateFormat. A custom date format configured on the
+ * ObjectMapper is still honoured.
+ */
+public class StudentResponseDTOSerializer extends StdSerializer<StudentResponseDTO> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString DATE_OF_BIRTH = new SerializedString("dateOfBirth");
+    private static final SerializableString ADDRESS = new SerializedString("address");
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx");
+
+    public StudentResponseDTOSerializer() {
+        super(StudentResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(StudentResponseDTO student, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(student);
+        generator.writeFieldName(ID);
+        if (student.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(student.getId());
+        }
+        generator.writeFieldName(FIRST_NAME);
+        generator.writeString(student.getFirstName());
+        generator.writeFieldName(LAST_NAME);
+        generator.writeString(student.getLastName());
+        generator.writeFieldName(DATE_OF_BIRTH);
+        writeDate(student.getDateOfBirth(), generator, provider);
+        generator.writeFieldName(ADDRESS);
+        generator.writeString(student.getAddress());
+        generator.writeEndObject();
+    }
+
+    private static void writeDate(Date date, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (date == null) {
+            generator.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            generator.writeNumber(date.getTime());
+        } else if (provider.getConfig().getDateFormat() instanceof StdDateFormat) {
+            // getTime() rather than toInstant(), which java.sql.Date does not support
+            ZoneId zone = provider.getTimeZone().toZoneId();
+            generator.writeString(DATE_FORMAT.format(Instant.ofEpochMilli(date.getTime()).atZone(zone)));
+        } else {
+            provider.defaultSerializeDateValue(date, generator);
+        }
+    }
+}
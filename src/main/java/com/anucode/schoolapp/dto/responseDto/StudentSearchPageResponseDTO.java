@@ -0,0 +1,20 @@
+package com.anucode.schoolapp.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSearchPageResponseDTO {
+
+    private List<StudentResponseDTO> content;
+
+    /** opaque position after the last student of this page; pass it back as {@code after}. Null on the last page. */
+    private String nextCursor;
+
+    private boolean hasNext;
+}
@@ -0,0 +1,17 @@
+package com.anucode.schoolapp.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSuggestionDTO {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+}
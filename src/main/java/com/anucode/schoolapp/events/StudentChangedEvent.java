@@ -0,0 +1,48 @@
+package com.anucode.schoolapp.events;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published by StudentService after every write so in-memory views of the student table
+ * (search indexes, filters, caches) can follow along. Listeners should use
+ * {@code @TransactionalEventListener(fallbackExecution = true)} so they only see committed data.
+ */
+@Getter
+@ToString
+public class StudentChangedEvent {
+
+    public enum Type {
+        /** students were created or fully rewritten; {@link #getStudents()} holds their new state */
+        SAVED,
+        /** students were changed by a set-based update; only {@link #getIds()} is known */
+        UPDATED,
+        /** students were deleted; only {@link #getIds()} is known */
+        DELETED
+    }
+
+    private final Type type;
+    private final List<StudentResponseDTO> students;
+    private final List<Long> ids;
+
+    private StudentChangedEvent(Type type, List<StudentResponseDTO> students, List<Long> ids) {
+        this.type = type;
+        this.students = students;
+        this.ids = ids;
+    }
+
+    public static StudentChangedEvent saved(List<StudentResponseDTO> students) {
+        return new StudentChangedEvent(Type.SAVED, students, students.stream().map(StudentResponseDTO::getId).toList());
+    }
+
+    public static StudentChangedEvent updated(List<Long> ids) {
+        return new StudentChangedEvent(Type.UPDATED, List.of(), ids);
+    }
+
+    public static StudentChangedEvent deleted(List<Long> ids) {
+        return new StudentChangedEvent(Type.DELETED, List.of(), ids);
+    }
+}
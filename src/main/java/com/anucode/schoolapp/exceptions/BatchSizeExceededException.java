@@ -0,0 +1,7 @@
+package com.anucode.schoolapp.exceptions;
+
+public class BatchSizeExceededException extends RuntimeException {
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+}
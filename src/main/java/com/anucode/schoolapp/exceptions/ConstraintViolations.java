@@ -0,0 +1,27 @@
+package com.anucode.schoolapp.exceptions;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Tells which database constraint a {@link DataIntegrityViolationException} came from. Drivers
+ * report the name differently (MySQL as {@code tbl_student.UQ_firstName_LastName}, H2 upper-cased
+ * with an index suffix), so the match is a case-insensitive "contains".
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isViolationOf(DataIntegrityViolationException ex, String constraintName) {
+        String expected = constraintName.toUpperCase(Locale.ROOT);
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toUpperCase(Locale.ROOT).contains(expected);
+            }
+        }
+        return false;
+    }
+}
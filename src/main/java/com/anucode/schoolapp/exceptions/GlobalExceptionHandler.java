@@ -1,5 +1,9 @@
 package com.anucode.schoolapp.exceptions;
 
+import com.anucode.schoolapp.models.Student;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,31 +18,60 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    public static final String EXCEPTIONS_COUNTER = "schoolapp.exceptions";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex){
+        countException(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(StudentIdInvalidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Object> handleValidationException(StudentIdInvalidException ex){
+        countException(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(StudentNameAlreadyExistsException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ResponseEntity<Object> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex){
+    public ResponseEntity<Object> handleStudentNameAlreadyExistsException(StudentNameAlreadyExistsException ex){
+        countException(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> handleDataIntegrityViolationException(DataIntegrityViolationException ex){
+        countException(ex);
+        if(ConstraintViolations.isViolationOf(ex, Student.NAME_UNIQUE_CONSTRAINT)){
+            return new ResponseEntity<>("firstName and LastName are already available", HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>("request conflicts with existing data", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(BatchSizeExceededException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Object> handleBatchSizeExceededException(BatchSizeExceededException ex){
+        countException(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String,String> handleInvalidArgumentException(MethodArgumentNotValidException ex){
+        countException(ex);
         Map<String, String> errorMap = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error->
                 errorMap.put(error.getField(), error.getDefaultMessage()));
 
         return errorMap;
     }
+
+    private void countException(Exception ex) {
+        meterRegistry.counter(EXCEPTIONS_COUNTER, "exception", ex.getClass().getSimpleName()).increment();
+    }
 }
@@ -0,0 +1,39 @@
+package com.anucode.schoolapp.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+public enum StudentExportFormat {
+
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", new MediaType("text", "csv"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    StudentExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves a format from its file extension (case-insensitive).
+     *
+     * @throws IllegalArgumentException if the value does not name a supported format.
+     */
+    public static StudentExportFormat fromExtension(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unsupported export format: " + value));
+    }
+}
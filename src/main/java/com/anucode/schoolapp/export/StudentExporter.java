@@ -0,0 +1,129 @@
+package com.anucode.schoolapp.export;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.services.StudentService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Writes the whole student table to an output stream one record at a time, so the export
+ * starts immediately and never holds more than a single student in memory.
+ */
+@Component
+public class StudentExporter {
+
+    public static final String CSV_HEADER = "id,firstName,lastName,dateOfBirth,address";
+
+    /** Rows written between explicit flushes, so clients see data before the servlet buffer fills. */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void export(StudentExportFormat format, OutputStream outputStream) throws IOException {
+        switch (format) {
+            case NDJSON -> writeNdjson(outputStream);
+            case CSV -> writeCsv(outputStream);
+        }
+    }
+
+    private void writeNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            studentService.streamStudents(null, student -> {
+                try {
+                    generator.writeObject(student);
+                    generator.writeRaw('\n');
+                    if (++written[0] % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        writer.flush();
+        int[] written = {0};
+        studentService.streamStudents(null, student -> {
+            try {
+                writeCsvRow(writer, student);
+                if (++written[0] % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * One CSV record including the trailing CRLF, for callers that emit rows individually.
+     */
+    public static String toCsvRow(StudentResponseDTO student) {
+        StringBuilder row = new StringBuilder(64);
+        try {
+            writeCsvRow(row, student);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return row.toString();
+    }
+
+    private static void writeCsvRow(Appendable out, StudentResponseDTO student) throws IOException {
+        out.append(String.valueOf(student.getId()));
+        out.append(',');
+        writeCsvField(out, student.getFirstName());
+        out.append(',');
+        writeCsvField(out, student.getLastName());
+        out.append(',');
+        writeCsvField(out, formatDate(student.getDateOfBirth()));
+        out.append(',');
+        writeCsvField(out, student.getAddress());
+        out.append("\r\n");
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks, doubling embedded quotes
+    private static void writeCsvField(Appendable out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        out.append(value.replace("\"", "\"\""));
+        out.append('"');
+    }
+
+    private static String formatDate(Date date) {
+        return date == null ? null : CSV_DATE_FORMAT.format(Instant.ofEpochMilli(date.getTime()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.anucode.schoolapp.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Wraps connections, statements and result sets in JDK proxies that record every execution into the
+ * thread's {@link QueryStats}: one statement per execute/executeQuery/executeUpdate/executeBatch, its time,
+ * and rows read (ResultSet.next) or written (update counts).
+ * Executed SQL is logged at DEBUG on {@value #SQL_LOGGER} for a sampled fraction of statements.
+ * Extends DelegatingDataSource so pool metrics and unwrapping still reach the underlying pool.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public static final String SQL_LOGGER = "com.anucode.schoolapp.sql";
+
+    private static final Logger sqlLogger = LoggerFactory.getLogger(SQL_LOGGER);
+
+    private double logSampleRate = 1.0;
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    public void setLogSampleRate(double logSampleRate) {
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql != null && sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+
+    private void logStatement(String sql, long elapsedNanos) {
+        if (sqlLogger.isDebugEnabled() && (logSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < logSampleRate)) {
+            sqlLogger.debug("{} ({} us)", sql, elapsedNanos / 1000);
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = QueryCountingDataSource.invoke(target, method, args);
+                return name.equals("getResultSet") && result != null ? countRows((ResultSet) result) : result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String statementSql ? statementSql : preparedSql;
+            long start = System.nanoTime();
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+            logStatement(sql, elapsed);
+            QueryStats stats = QueryStats.current();
+            if (stats == null) {
+                return result;
+            }
+            stats.recordStatement(sql, isSelect(sql), elapsed);
+            if (result instanceof ResultSet resultSet) {
+                return countRows(resultSet);
+            }
+            if (result instanceof Integer updated) {
+                stats.recordRows(Math.max(updated, 0));
+            } else if (result instanceof Long updated) {
+                stats.recordRows(Math.max(updated, 0));
+            } else if (result instanceof int[] updated) {
+                for (int count : updated) {
+                    stats.recordRows(Math.max(count, 0));
+                }
+            } else if (result instanceof long[] updated) {
+                for (long count : updated) {
+                    stats.recordRows(Math.max(count, 0));
+                }
+            }
+            return result;
+        }
+
+        private ResultSet countRows(ResultSet resultSet) {
+            QueryStats stats = QueryStats.current();
+            if (stats == null) {
+                return resultSet;
+            }
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = QueryCountingDataSource.invoke(resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    stats.recordRows(1);
+                }
+                return result;
+            });
+        }
+    }
+}
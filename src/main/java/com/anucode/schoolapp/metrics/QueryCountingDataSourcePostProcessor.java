@@ -0,0 +1,37 @@
+package com.anucode.schoolapp.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource that opens physical connections in a {@link QueryCountingDataSource}.
+ * Delegating and routing DataSources are left alone: they reach a wrapped target, and wrapping
+ * them too would count each statement twice.
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private double logSampleRate = 1.0;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        logSampleRate = environment.getProperty("schoolapp.sql.log-sample-rate", Double.class, 1.0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource
+                && !(bean instanceof DelegatingDataSource) && !(bean instanceof AbstractRoutingDataSource)) {
+            QueryCountingDataSource queryCountingDataSource = new QueryCountingDataSource(dataSource);
+            queryCountingDataSource.setLogSampleRate(logSampleRate);
+            return queryCountingDataSource;
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,109 @@
+package com.anucode.schoolapp.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC statements, rows and time recorded by {@link QueryCountingDataSource} for the current thread,
+ * between {@link #begin()} and {@link #end()}. Scopes nest: a statement counts towards every open scope.
+ * {@link QueryStatsFilter} opens one per HTTP request; tests use {@link #measure(Runnable)}.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private final Map<String, Integer> selectExecutions = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+    private String mostRepeatedSelect;
+    private int mostRepeatedSelectCount;
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Opens a scope on the current thread. Must be closed with {@link #end()} in a finally block.
+     */
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the innermost open scope of the current thread, or null when nothing is being measured.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static QueryStats measure(Runnable action) {
+        QueryStats stats = begin();
+        try {
+            action.run();
+        } finally {
+            stats.end();
+        }
+        return stats;
+    }
+
+    public void end() {
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+
+    void recordStatement(String sql, boolean select, long elapsedNanos) {
+        for (QueryStats stats = this; stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+            if (select && sql != null) {
+                int executions = stats.selectExecutions.merge(sql, 1, Integer::sum);
+                if (executions > stats.mostRepeatedSelectCount) {
+                    stats.mostRepeatedSelectCount = executions;
+                    stats.mostRepeatedSelect = sql;
+                }
+            }
+        }
+    }
+
+    void recordRows(long count) {
+        for (QueryStats stats = this; stats != null; stats = stats.parent) {
+            stats.rows += count;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return how often the most repeated SELECT ran in this scope, the usual N+1 signature.
+     */
+    public int getMostRepeatedSelectCount() {
+        return mostRepeatedSelectCount;
+    }
+
+    public String getMostRepeatedSelect() {
+        return mostRepeatedSelect;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStats{statements=" + statements + ", rows=" + rows + ", millis=" + nanos / 1_000_000
+                + ", mostRepeatedSelectCount=" + mostRepeatedSelectCount + "}";
+    }
+}
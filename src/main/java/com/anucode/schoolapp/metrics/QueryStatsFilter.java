@@ -0,0 +1,77 @@
+package com.anucode.schoolapp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JDBC work of every HTTP request through {@link QueryStats}: statements, rows and time per
+ * request go to the {@code schoolapp.request.*} meters, and a request that runs the same SELECT at least
+ * {@code schoolapp.sql.repeated-select-threshold} times is logged as a likely N+1.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final Logger logger = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    private final DistributionSummary statementsSummary;
+    private final DistributionSummary rowsSummary;
+    private final Timer sqlTimer;
+    private final Counter repeatedSelectCounter;
+
+    @Value("${schoolapp.sql.repeated-select-threshold:10}")
+    private int repeatedSelectThreshold = 10;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry) {
+        statementsSummary = DistributionSummary.builder("schoolapp.request.statements")
+                .description("JDBC statements executed per HTTP request")
+                .register(meterRegistry);
+        rowsSummary = DistributionSummary.builder("schoolapp.request.rows")
+                .description("Rows read or written per HTTP request")
+                .register(meterRegistry);
+        sqlTimer = Timer.builder("schoolapp.request.sql")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .register(meterRegistry);
+        repeatedSelectCounter = Counter.builder("schoolapp.request.repeated.selects")
+                .description("Requests that repeated one SELECT at least the N+1 threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        statementsSummary.record(stats.getStatements());
+        rowsSummary.record(stats.getRows());
+        sqlTimer.record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        if (stats.getMostRepeatedSelectCount() >= repeatedSelectThreshold) {
+            repeatedSelectCounter.increment();
+            logger.warn("{} {} ran the same query {} times: {}", request.getMethod(), request.getRequestURI(),
+                    stats.getMostRepeatedSelectCount(), stats.getMostRepeatedSelect());
+        }
+    }
+}
@@ -3,20 +3,33 @@ package com.anucode.schoolapp.models;
 import jakarta.persistence.*;
 import lombok.*;
 import org.antlr.v4.runtime.misc.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import java.util.Date;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "student")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "tbl_student", uniqueConstraints = @UniqueConstraint(name = "UQ_firstName_LastName", columnNames = {"firstName", "lastName"}))
+@Table(name = "tbl_student",
+        uniqueConstraints = @UniqueConstraint(name = Student.NAME_UNIQUE_CONSTRAINT, columnNames = {"firstName", "lastName"}),
+        // serves the keyset pages sorted by (lastName, id); created by the V2 migration
+        indexes = @Index(name = Student.LAST_NAME_INDEX, columnList = "lastName, id"))
 public class Student {
 
+    public static final String NAME_UNIQUE_CONSTRAINT = "UQ_firstName_LastName";
+
+    public static final String LAST_NAME_INDEX = "IX_lastName_id";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = StudentIdGenerator.SEQUENCE_NAME)
+    @GenericGenerator(name = StudentIdGenerator.SEQUENCE_NAME, type = StudentIdGenerator.class)
     private Long id;
 
     private String firstName;
@@ -27,6 +40,15 @@ public class Student {
 
     private String address;
 
+    /** bumped by every update, including the set-based ones; clients see it as the ETag */
+    @Version
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    public Student(Long id, String firstName, String lastName, Date dateOfBirth, String address) {
+        this(id, firstName, lastName, dateOfBirth, address, 0);
+    }
+
     public Student(String firstName, String lastName, Date dateOfBirth, String address) {
         this.firstName = firstName;
         this.lastName = lastName;
@@ -0,0 +1,32 @@
+package com.anucode.schoolapp.models;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator for {@link Student} ids that hands out blocks of ids with the pooled-lo optimizer:
+ * one call to {@code student_seq} reserves [value, value + increment) and the rest are assigned in memory.
+ * The block size comes from {@value #INCREMENT_SIZE_SETTING} in the Hibernate settings
+ * ({@code spring.jpa.properties.*}). On MySQL the sequence is emulated by a one-row table.
+ */
+public class StudentIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_NAME = "student_seq";
+    public static final String INCREMENT_SIZE_SETTING = "schoolapp.students.id-increment-size";
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Object incrementSize = serviceRegistry.requireService(ConfigurationService.class).getSettings().get(INCREMENT_SIZE_SETTING);
+        parameters.setProperty(SEQUENCE_PARAM, SEQUENCE_NAME);
+        parameters.setProperty(INCREMENT_PARAM, incrementSize == null ? String.valueOf(DEFAULT_INCREMENT_SIZE) : incrementSize.toString());
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.anucode.schoolapp.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of {@code tbl_student} for the reactive R2DBC stack. The table and its ids belong to
+ * the JPA {@link Student} entity; this class only mirrors the columns.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("tbl_student")
+public class StudentRecord {
+
+    @Id
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private LocalDateTime dateOfBirth;
+
+    private String address;
+
+    private Long version;
+}
@@ -0,0 +1,23 @@
+package com.anucode.schoolapp.repositories;
+
+import com.anucode.schoolapp.models.StudentRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * R2DBC counterpart of {@link StudentRepository}, only active with the reactive profile.
+ */
+public interface ReactiveStudentRepository extends R2dbcRepository<StudentRecord, Long> {
+
+    /**
+     * Keyset page: students with an id strictly greater than the given cursor, in id order.
+     */
+    Flux<StudentRecord> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Every student after the cursor in id order; rows are pulled from the driver as the
+     * subscriber requests them.
+     */
+    Flux<StudentRecord> findByIdGreaterThanOrderByIdAsc(Long afterId);
+}
@@ -1,16 +1,132 @@
 package com.anucode.schoolapp.repositories;
 
+import com.anucode.schoolapp.dto.projections.StudentNameView;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
 import com.anucode.schoolapp.models.Student;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Builds a StudentResponseDTO from the alias {@code s}: no managed entities, no dirty-checking snapshots.
+     */
+    String RESPONSE_DTO_CONSTRUCTOR = "new com.anucode.schoolapp.dto.responseDto.StudentResponseDTO(" +
+            "s.id, s.firstName, s.lastName, s.dateOfBirth, s.address, s.version)";
+
+    String RESPONSE_DTO_SELECT = "select " + RESPONSE_DTO_CONSTRUCTOR + " from Student s";
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Student> findByFirstNameAndLastName(String firstName, String lastName);
 
     List<Student> findAll(Specification<Student> specification);
+
+    /**
+     * Set-based duplicate check for a batch: returns every stored name pair whose first name and last
+     * name both occur somewhere in the given collections. The result is a superset of the exact pairs,
+     * so callers must still match pairs themselves.
+     */
+    List<StudentNameView> findByFirstNameInAndLastNameIn(Collection<String> firstNames, Collection<String> lastNames);
+
+    @Query("select s.id from Student s where s.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set-based update of the given ids without loading them; a null argument leaves that column unchanged.
+     * The version is bumped like an entity update would, so ETags issued before the update no longer match.
+     *
+     * @return the number of updated rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Student s set s.address = coalesce(:address, s.address), " +
+            "s.dateOfBirth = coalesce(:dateOfBirth, s.dateOfBirth), s.version = s.version + 1 where s.id in :ids")
+    int bulkUpdateAddressAndDateOfBirth(@Param("ids") Collection<Long> ids,
+                                        @Param("address") String address,
+                                        @Param("dateOfBirth") Date dateOfBirth);
+
+    /**
+     * Set-based delete of the given ids without loading them.
+     *
+     * @return the number of deleted rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Student s where s.id in :ids")
+    int bulkDeleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page: students with an id strictly greater than the given cursor, in id order.
+     */
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query(RESPONSE_DTO_SELECT)
+    List<StudentResponseDTO> findAllResponses();
+
+    @Query(RESPONSE_DTO_SELECT + " where s.id = :id")
+    Optional<StudentResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Keyset page as DTOs: students with an id strictly greater than the given cursor, in id order.
+     */
+    @Query(RESPONSE_DTO_SELECT + " where s.id > :afterId order by s.id")
+    List<StudentResponseDTO> findResponsesByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * First keyset page in (lastName, id) order, read from the lastName index.
+     */
+    @Query(RESPONSE_DTO_SELECT + " order by s.lastName, s.id")
+    List<StudentResponseDTO> findResponsesOrderByLastName(Limit limit);
+
+    /**
+     * Keyset page in (lastName, id) order: students after the given lastName and id. Written as a
+     * range on lastName so the index can seek to it; the equivalent OR form scans the table.
+     */
+    @Query(RESPONSE_DTO_SELECT + " where s.lastName >= :lastName and (s.lastName > :lastName or s.id > :afterId)" +
+            " order by s.lastName, s.id")
+    List<StudentResponseDTO> findResponsesByLastNameAfter(@Param("lastName") String lastName,
+                                                          @Param("afterId") Long afterId,
+                                                          Limit limit);
+
+    /**
+     * Streams DTOs in id order straight off the JDBC cursor. Nothing enters the persistence context,
+     * so it stays empty however many rows are read. Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(RESPONSE_DTO_SELECT + " where s.id > :afterId order by s.id")
+    Stream<StudentResponseDTO> streamResponsesByIdGreaterThan(@Param("afterId") Long afterId);
+
+    /**
+     * Streams students in id order straight off the JDBC cursor. Must be consumed inside a
+     * transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Student> streamByIdGreaterThanOrderByIdAsc(Long afterId);
+
+    /**
+     * Streams every student's first and last name; used to build the in-memory name filter.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select s.firstName as firstName, s.lastName as lastName from Student s")
+    Stream<StudentNameView> streamAllNames();
 }
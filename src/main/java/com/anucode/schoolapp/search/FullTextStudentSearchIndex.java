@@ -0,0 +1,76 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL backend: the FULLTEXT index FT_student_name_address over (first_name, last_name, address),
+ * created by the V3 migration, queried with
+ * {@code MATCH ... AGAINST} in boolean mode and, for RELEVANCE, ordered by MySQL's relevance score.
+ * Every keyword becomes a required prefix term ({@code +kw*}). Keywords shorter than
+ * {@code innodb_ft_min_token_size} (3 by default) or on the stopword list are not indexed by MySQL.
+ */
+@Component
+@ConditionalOnProperty(name = "schoolapp.search.backend", havingValue = "fulltext")
+public class FullTextStudentSearchIndex implements StudentSearchIndex {
+
+    private static final String MATCH = "match_against(s.firstName, s.lastName, s.address, :query)";
+
+    private static final String SEARCH_QUERY = "select " + StudentRepository.RESPONSE_DTO_CONSTRUCTOR + ", " + MATCH +
+            " from Student s where " + MATCH + " > 0";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentSearchHit> search(String[] keywords, StudentSearchSort sort, StudentSearchCursor after, int limit) {
+        String query = toBooleanModeQuery(keywords);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        TypedQuery<Object[]> searchQuery = entityManager.createQuery(searchQuery(sort, after != null), Object[].class)
+                .setParameter("query", query)
+                .setMaxResults(limit);
+        if (after != null) {
+            searchQuery.setParameter("afterId", after.getId());
+            switch (sort) {
+                case RELEVANCE -> searchQuery.setParameter("score", after.getScore());
+                case LAST_NAME -> searchQuery.setParameter("lastName", after.getLastName());
+                case ID -> {
+                }
+            }
+        }
+        return searchQuery.getResultList().stream()
+                .map(row -> new StudentSearchHit((StudentResponseDTO) row[0], (Double) row[1]))
+                .toList();
+    }
+
+    private static String searchQuery(StudentSearchSort sort, boolean after) {
+        return SEARCH_QUERY + switch (sort) {
+            case RELEVANCE -> (after ? " and (" + MATCH + " < :score or (" + MATCH + " = :score and s.id > :afterId))" : "")
+                    + " order by " + MATCH + " desc, s.id";
+            case LAST_NAME -> (after ? " and s.lastName >= :lastName and (s.lastName > :lastName or s.id > :afterId)" : "")
+                    + " order by s.lastName, s.id";
+            case ID -> (after ? " and s.id > :afterId" : "") + " order by s.id";
+        };
+    }
+
+    // boolean-mode operators in user input would change the query's meaning, so keep letters and digits only
+    static String toBooleanModeQuery(String[] keywords) {
+        return Arrays.stream(keywords)
+                .flatMap(keyword -> Arrays.stream(keyword.split("[^\\p{L}\\p{N}]+")))
+                .filter(term -> !term.isEmpty())
+                .map(term -> "+" + term.toLowerCase(Locale.ROOT) + "*")
+                .collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,238 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import com.anucode.schoolapp.models.Student;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index: every word of firstName, lastName and address points to the students
+ * containing it. Keywords match word prefixes, and results are ranked by a tf-idf style score in which
+ * name matches weigh more than address matches and exact words more than prefixes. Stored documents
+ * let search answer without touching the database.
+ * <p>
+ * Built from the database once all singletons are ready and kept in sync through StudentChangedEvent.
+ */
+@Component
+@ConditionalOnProperty(name = "schoolapp.search.backend", havingValue = "memory")
+public class InMemoryStudentSearchIndex implements StudentSearchIndex, SmartInitializingSingleton {
+
+    static final float NAME_WEIGHT = 2.0f;
+    static final float ADDRESS_WEIGHT = 1.0f;
+    static final float PREFIX_PENALTY = 0.5f;
+
+    private final Logger logger = LoggerFactory.getLogger(InMemoryStudentSearchIndex.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, StudentResponseDTO> documents = new HashMap<>();
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Student> students = studentRepository.streamByIdGreaterThanOrderByIdAsc(0L)) {
+                students.forEach(student -> {
+                    index(toDTO(student));
+                    entityManager.detach(student);
+                });
+            }
+        });
+        logger.info("Indexed {} students for search in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getStudents().forEach(this::index);
+            case UPDATED -> studentRepository.findAllById(event.getIds()).forEach(student -> index(toDTO(student)));
+            case DELETED -> event.getIds().forEach(this::remove);
+        }
+    }
+
+    @Override
+    public List<StudentSearchHit> search(String[] keywords, StudentSearchSort sort, StudentSearchCursor after, int limit) {
+        List<String> terms = tokenize(String.join(" ", keywords));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // every keyword has to match, as with the LIKE predicates
+                    Map<Long, Float> previous = scores;
+                    termScores.keySet().retainAll(previous.keySet());
+                    termScores.replaceAll((id, score) -> score + previous.get(id));
+                    scores = termScores;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .map(entry -> new StudentSearchHit(documents.get(entry.getKey()), entry.getValue()))
+                    .filter(hit -> after == null || isAfter(hit, after))
+                    .sorted(order(sort))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // last names compare case-insensitively, like MySQL's default collation
+    private static Comparator<StudentSearchHit> order(StudentSearchSort sort) {
+        Comparator<StudentSearchHit> byId = Comparator.comparing(hit -> hit.getStudent().getId());
+        return switch (sort) {
+            case RELEVANCE -> Comparator.comparingDouble(StudentSearchHit::getScore).reversed().thenComparing(byId);
+            case LAST_NAME -> Comparator.comparing((StudentSearchHit hit) -> lastName(hit), String.CASE_INSENSITIVE_ORDER).thenComparing(byId);
+            case ID -> byId;
+        };
+    }
+
+    private static boolean isAfter(StudentSearchHit hit, StudentSearchCursor cursor) {
+        long id = hit.getStudent().getId();
+        return switch (cursor.getSort()) {
+            case RELEVANCE -> hit.getScore() < cursor.getScore() || (hit.getScore() == cursor.getScore() && id > cursor.getId());
+            case LAST_NAME -> {
+                int compared = String.CASE_INSENSITIVE_ORDER.compare(lastName(hit), cursor.getLastName());
+                yield compared > 0 || (compared == 0 && id > cursor.getId());
+            }
+            case ID -> id > cursor.getId();
+        };
+    }
+
+    private static String lastName(StudentSearchHit hit) {
+        String lastName = hit.getStudent().getLastName();
+        return lastName == null ? "" : lastName;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void index(StudentResponseDTO student) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(student.getId());
+            documents.put(student.getId(), student);
+            addPostings(student.getId(), student.getFirstName(), NAME_WEIGHT);
+            addPostings(student.getId(), student.getLastName(), NAME_WEIGHT);
+            addPostings(student.getId(), student.getAddress(), ADDRESS_WEIGHT);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // best weight per student over all indexed words starting with the term, scaled by the term's idf
+    private Map<Long, Float> scoreTerm(String term) {
+        Map<Long, Float> termScores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> posting : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            float factor = posting.getKey().equals(term) ? 1.0f : PREFIX_PENALTY;
+            posting.getValue().forEach((id, weight) -> termScores.merge(id, weight * factor, Math::max));
+        }
+        float idf = (float) Math.log(1.0 + (double) documents.size() / Math.max(1, termScores.size()));
+        termScores.replaceAll((id, score) -> score * idf);
+        return termScores;
+    }
+
+    private void addPostings(Long id, String text, float weight) {
+        for (String token : tokenize(text)) {
+            postings.computeIfAbsent(token, key -> new HashMap<>()).merge(id, weight, Float::sum);
+        }
+    }
+
+    private void removeUnlocked(Long id) {
+        StudentResponseDTO previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        Collection<String> tokens = new ArrayList<>();
+        tokens.addAll(tokenize(previous.getFirstName()));
+        tokens.addAll(tokenize(previous.getLastName()));
+        tokens.addAll(tokenize(previous.getAddress()));
+        for (String token : tokens) {
+            Map<Long, Float> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static StudentResponseDTO toDTO(Student student) {
+        return new StudentResponseDTO(
+                student.getId(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getDateOfBirth(),
+                student.getAddress(),
+                student.getVersion());
+    }
+}
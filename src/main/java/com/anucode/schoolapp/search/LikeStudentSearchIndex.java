@@ -0,0 +1,58 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.models.Student;
+import com.anucode.schoolapp.specifications.StudentSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fallback backend using StudentSpecification's {@code LIKE '%kw%'} predicates. Works on any database
+ * but scans the whole table. LIKE has no notion of relevance, so RELEVANCE is served in id order.
+ */
+@Component
+@ConditionalOnProperty(name = "schoolapp.search.backend", havingValue = "like", matchIfMissing = true)
+public class LikeStudentSearchIndex implements StudentSearchIndex {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentSearchHit> search(String[] keywords, StudentSearchSort sort, StudentSearchCursor after, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentResponseDTO> query = criteriaBuilder.createQuery(StudentResponseDTO.class);
+        Root<Student> root = query.from(Student.class);
+        Path<Long> id = root.get("id");
+        Path<String> lastName = root.get("lastName");
+        Predicate predicate = new StudentSpecification(keywords).toPredicate(root, query, criteriaBuilder);
+        if (after != null) {
+            Predicate afterId = criteriaBuilder.greaterThan(id, after.getId());
+            predicate = criteriaBuilder.and(predicate, sort == StudentSearchSort.LAST_NAME
+                    ? criteriaBuilder.and(
+                            criteriaBuilder.greaterThanOrEqualTo(lastName, after.getLastName()),
+                            criteriaBuilder.or(criteriaBuilder.greaterThan(lastName, after.getLastName()), afterId))
+                    : afterId);
+        }
+        query.select(criteriaBuilder.construct(StudentResponseDTO.class,
+                        id, root.get("firstName"), lastName, root.get("dateOfBirth"), root.get("address"), root.get("version")))
+                .where(predicate)
+                .orderBy(sort == StudentSearchSort.LAST_NAME
+                        ? List.of(criteriaBuilder.asc(lastName), criteriaBuilder.asc(id))
+                        : List.of(criteriaBuilder.asc(id)));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(StudentSearchHit::unscored)
+                .toList();
+    }
+}
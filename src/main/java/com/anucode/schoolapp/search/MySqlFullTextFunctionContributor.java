@@ -0,0 +1,24 @@
+package com.anucode.schoolapp.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code match_against(firstName, lastName, address, query)} so JPQL can use MySQL's
+ * {@code MATCH ... AGAINST} in boolean mode. The result is the relevance score (0 when nothing matches).
+ * Picked up through META-INF/services.
+ */
+public class MySqlFullTextFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_AGAINST = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                MATCH_AGAINST,
+                "match (?1, ?2, ?3) against (?4 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
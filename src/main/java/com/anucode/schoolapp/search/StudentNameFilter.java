@@ -0,0 +1,195 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.projections.StudentNameView;
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the (firstName, lastName) pairs in the student table, used to skip the
+ * duplicate-name query for names that are definitely new. It never gives a false negative for a
+ * name written through this application; a "might contain" answer falls back to the database.
+ * <p>
+ * Names are folded more coarsely than MySQL's case- and accent-insensitive collation compares
+ * them (case, accents and trailing spaces are dropped), so a pair the database considers equal
+ * always hashes the same. Deleted or renamed students stay in the filter and only cost an extra
+ * query. The filter grows by adding layers of twice the previous capacity; rows written by other
+ * application instances are still caught by the UQ_firstName_LastName constraint.
+ */
+@Component
+public class StudentNameFilter implements SmartInitializingSingleton {
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Logger logger = LoggerFactory.getLogger(StudentNameFilter.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Layer> layers = new ArrayList<>();
+
+    // until the table has been read every name is a possible duplicate
+    private volatile boolean loaded;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public StudentNameFilter() {
+        layers.add(new Layer(INITIAL_CAPACITY));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<StudentNameView> names = studentRepository.streamAllNames()) {
+                names.forEach(name -> put(name.getFirstName(), name.getLastName()));
+            }
+        });
+        markLoaded();
+        logger.info("Built name filter for {} students in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getType() == StudentChangedEvent.Type.SAVED) {
+            event.getStudents().forEach(student -> put(student.getFirstName(), student.getLastName()));
+        }
+    }
+
+    /**
+     * Returns false only when no student with this first and last name has been written;
+     * true means the database has to be asked.
+     */
+    public boolean mightContain(String firstName, String lastName) {
+        if (!loaded) {
+            return true;
+        }
+        long hash = hash(firstName, lastName);
+        lock.readLock().lock();
+        try {
+            for (Layer layer : layers) {
+                if (layer.mightContain(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(String firstName, String lastName) {
+        long hash = hash(firstName, lastName);
+        lock.writeLock().lock();
+        try {
+            Layer layer = layers.get(layers.size() - 1);
+            if (layer.size >= layer.capacity) {
+                layer = new Layer(layer.capacity * 2);
+                layers.add(layer);
+            }
+            layer.put(hash);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void markLoaded() {
+        loaded = true;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return layers.stream().mapToInt(layer -> layer.size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Folds a name the way the student table's collation compares it: accents and case are dropped and
+     * trailing spaces ignored. Equal results for names the database considers equal, never the reverse.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT).stripTrailing();
+    }
+
+    private static long hash(String firstName, String lastName) {
+        // FNV-1a over both names, finished with the MurmurHash3 mixer
+        long hash = 0xcbf29ce484222325L;
+        String key = normalize(firstName) + '\u0000' + normalize(lastName);
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * One fixed-size Bloom filter sized for {@code capacity} names at {@link #FALSE_POSITIVE_RATE}.
+     * Probe positions come from the two halves of a 64-bit hash (Kirsch-Mitzenmacher).
+     */
+    private static final class Layer {
+
+        private final int capacity;
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+        private int size;
+
+        private Layer(int capacity) {
+            this.capacity = capacity;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+            this.bits = new long[(int) ((optimalBits + 63) / 64)];
+            this.bitCount = bits.length * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        private void put(long hash) {
+            int low = (int) hash;
+            int high = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Integer.toUnsignedLong(low + i * high) % bitCount;
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            size++;
+        }
+
+        private boolean mightContain(long hash) {
+            int low = (int) hash;
+            int high = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Integer.toUnsignedLong(low + i * high) % bitCount;
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
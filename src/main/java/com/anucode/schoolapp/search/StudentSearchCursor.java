@@ -0,0 +1,80 @@
+package com.anucode.schoolapp.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a search: the sort keys of the last hit of a page. The next page holds the hits
+ * that come strictly after it in the same sort, so no page needs an OFFSET or a COUNT(*).
+ * Travels to clients as an opaque URL-safe string.
+ */
+public final class StudentSearchCursor {
+
+    private final StudentSearchSort sort;
+    private final long id;
+    private final String lastName;
+    private final double score;
+
+    private StudentSearchCursor(StudentSearchSort sort, long id, String lastName, double score) {
+        this.sort = sort;
+        this.id = id;
+        this.lastName = lastName;
+        this.score = score;
+    }
+
+    public static StudentSearchCursor after(StudentSearchSort sort, StudentSearchHit hit) {
+        String lastName = hit.getStudent().getLastName();
+        return new StudentSearchCursor(sort, hit.getStudent().getId(), lastName == null ? "" : lastName, hit.getScore());
+    }
+
+    public StudentSearchSort getSort() {
+        return sort;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public String encode() {
+        String key = switch (sort) {
+            case RELEVANCE -> Double.toString(score);
+            case LAST_NAME -> lastName;
+            case ID -> "";
+        };
+        String value = sort.getCode() + ":" + id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value was not produced by {@link #encode()} for the given sort.
+     */
+    public static StudentSearchCursor decode(String value, StudentSearchSort sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+        if (parts.length != 3 || parts[0].length() != 1 || StudentSearchSort.fromCode(parts[0].charAt(0)) != sort) {
+            throw new IllegalArgumentException("cursor does not belong to sort " + sort.getParameter());
+        }
+        try {
+            long id = Long.parseLong(parts[1]);
+            return switch (sort) {
+                case RELEVANCE -> new StudentSearchCursor(sort, id, "", Double.parseDouble(parts[2]));
+                case LAST_NAME -> new StudentSearchCursor(sort, id, parts[2], 0);
+                case ID -> new StudentSearchCursor(sort, id, "", 0);
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+}
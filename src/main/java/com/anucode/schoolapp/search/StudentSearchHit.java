@@ -0,0 +1,21 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A matching student with the relevance score it was ranked by (0 for backends without scores).
+ */
+@Data
+@AllArgsConstructor
+public class StudentSearchHit {
+
+    private final StudentResponseDTO student;
+
+    private final double score;
+
+    public static StudentSearchHit unscored(StudentResponseDTO student) {
+        return new StudentSearchHit(student, 0);
+    }
+}
@@ -0,0 +1,18 @@
+package com.anucode.schoolapp.search;
+
+import java.util.List;
+
+/**
+ * Keyword search over firstName, lastName and address. Every keyword has to match. The backend is
+ * picked with {@code schoolapp.search.backend}.
+ */
+public interface StudentSearchIndex {
+
+    /**
+     * @param keywords search terms, matched as word prefixes; at least one.
+     * @param sort order of the hits, ties broken by id.
+     * @param after position of the last hit of the previous page in the same sort, or null for the first page.
+     * @param limit maximum number of hits.
+     */
+    List<StudentSearchHit> search(String[] keywords, StudentSearchSort sort, StudentSearchCursor after, int limit);
+}
@@ -0,0 +1,50 @@
+package com.anucode.schoolapp.search;
+
+import java.util.Arrays;
+
+/**
+ * Result order of a student search. Ties are always broken by id, so every order is total and can be
+ * paged with a {@link StudentSearchCursor}. Backends without a relevance score (LIKE, and searches
+ * without keywords) give every student the same score, which makes RELEVANCE behave like ID.
+ */
+public enum StudentSearchSort {
+
+    RELEVANCE("relevance", 'r'),
+    ID("id", 'i'),
+    LAST_NAME("lastName", 'n');
+
+    private final String parameter;
+    private final char code;
+
+    StudentSearchSort(String parameter, char code) {
+        this.parameter = parameter;
+        this.code = code;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    char getCode() {
+        return code;
+    }
+
+    /**
+     * Resolves a sort from its request parameter value (case-insensitive).
+     *
+     * @throws IllegalArgumentException if the value does not name a supported sort.
+     */
+    public static StudentSearchSort fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.parameter.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unsupported sort: " + value));
+    }
+
+    static StudentSearchSort fromCode(char code) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("invalid cursor"));
+    }
+}
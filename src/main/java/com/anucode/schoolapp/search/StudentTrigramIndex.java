@@ -0,0 +1,417 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentSuggestionDTO;
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import com.anucode.schoolapp.models.Student;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead index over student names and addresses. Each student is stored once as a document
+ * (an int slot); every trigram of its normalized text points at the slots containing it through a
+ * primitive, sorted {@code int[]} posting list. A prefix query intersects the posting lists of its
+ * trigrams, verifies the few candidates and stops as soon as it has {@code limit} hits, so cost
+ * depends on the result size rather than the table size.
+ * <p>
+ * Name matches are returned before address matches. Updates append a new slot and tombstone the old
+ * one; the index compacts itself once tombstones outnumber live students.
+ */
+@Component
+public class StudentTrigramIndex implements SmartInitializingSingleton {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(StudentTrigramIndex.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private GramTable nameGrams = new GramTable();
+    private GramTable addressGrams = new GramTable();
+
+    // document slots; texts are normalized and prefixed with a space
+    private long[] studentIds = new long[INITIAL_CAPACITY];
+    private String[] firstNames = new String[INITIAL_CAPACITY];
+    private String[] lastNames = new String[INITIAL_CAPACITY];
+    private String[] nameTexts = new String[INITIAL_CAPACITY];
+    private String[] addressTexts = new String[INITIAL_CAPACITY];
+    private boolean[] deleted = new boolean[INITIAL_CAPACITY];
+    private int slotCount;
+    private int deletedCount;
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Student> students = studentRepository.streamByIdGreaterThanOrderByIdAsc(0L)) {
+                students.forEach(student -> {
+                    add(student.getId(), student.getFirstName(), student.getLastName(), student.getAddress());
+                    entityManager.detach(student);
+                });
+            }
+        });
+        logger.info("Built typeahead index for {} students in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getStudents().forEach(student ->
+                    add(student.getId(), student.getFirstName(), student.getLastName(), student.getAddress()));
+            case UPDATED -> studentRepository.findAllById(event.getIds()).forEach(student ->
+                    add(student.getId(), student.getFirstName(), student.getLastName(), student.getAddress()));
+            case DELETED -> event.getIds().forEach(this::remove);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} students having a word in firstName, lastName or address that starts
+     * with the prefix (case-insensitive). A prefix spanning several words must match consecutive words.
+     */
+    public List<StudentSuggestionDTO> suggest(String prefix, int limit) {
+        String query = normalize(prefix);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        long[] grams = queryGrams(query);
+        List<StudentSuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            collect(nameGrams, grams, query, nameTexts, limit, suggestions, null);
+            if (suggestions.size() < limit) {
+                collect(addressGrams, grams, query, addressTexts, limit, suggestions, nameTexts);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void add(Long id, String firstName, String lastName, String address) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            ensureCapacity(slotCount + 1);
+            int slot = slotCount++;
+            studentIds[slot] = id;
+            firstNames[slot] = firstName;
+            lastNames[slot] = lastName;
+            nameTexts[slot] = " " + normalize(firstName + " " + lastName);
+            addressTexts[slot] = " " + normalize(address);
+            slotById.put(id, slot);
+            indexText(nameGrams, nameTexts[slot], slot);
+            indexText(addressGrams, addressTexts[slot], slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeUnlocked(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        deleted[slot] = true;
+        firstNames[slot] = null;
+        lastNames[slot] = null;
+        nameTexts[slot] = null;
+        addressTexts[slot] = null;
+        if (++deletedCount > slotById.size() && deletedCount > INITIAL_CAPACITY) {
+            compact();
+        }
+    }
+
+    private void collect(GramTable table, long[] grams, String query, String[] texts, int limit,
+                         List<StudentSuggestionDTO> suggestions, String[] alreadyMatchedTexts) {
+        int[][] lists = new int[grams.length][];
+        int[] sizes = new int[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            int entry = table.find(grams[i]);
+            if (entry < 0) {
+                return;
+            }
+            lists[i] = table.postings[entry];
+            sizes[i] = table.sizes[entry];
+        }
+        // visit the lists shortest first, so a mismatch is usually found on the first one
+        int[] order = new int[grams.length];
+        for (int i = 0; i < order.length; i++) {
+            int j = i;
+            for (; j > 0 && sizes[order[j - 1]] > sizes[i]; j--) {
+                order[j] = order[j - 1];
+            }
+            order[j] = i;
+        }
+        String needle = " " + query;
+        int[] cursors = new int[grams.length];
+        int slot = 0;
+        while (suggestions.size() < limit) {
+            // leapfrog: every list gallops to the current slot; a list with no entry there raises it
+            // to its next entry, so long runs of non-matching slots are skipped rather than verified
+            boolean agreed = true;
+            for (int i : order) {
+                int position = gallop(lists[i], sizes[i], cursors[i], slot);
+                if (position == sizes[i]) {
+                    return;
+                }
+                cursors[i] = position;
+                if (lists[i][position] != slot) {
+                    slot = lists[i][position];
+                    agreed = false;
+                }
+            }
+            if (!agreed) {
+                continue;
+            }
+            if (!deleted[slot] && texts[slot].contains(needle)
+                    && (alreadyMatchedTexts == null || !alreadyMatchedTexts[slot].contains(needle))) {
+                suggestions.add(new StudentSuggestionDTO(studentIds[slot], firstNames[slot], lastNames[slot]));
+            }
+            slot++;
+        }
+    }
+
+    /**
+     * Index of the first entry at or after {@code from} that is not below {@code slot}, or {@code size} if
+     * there is none: doubling steps bracket the slot, then a binary search inside the bracket.
+     */
+    private static int gallop(int[] list, int size, int from, int slot) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && list[high] < slot) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, size);
+        int found = Arrays.binarySearch(list, low, high, slot);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private void compact() {
+        long[] ids = Arrays.copyOf(studentIds, slotCount);
+        String[] first = Arrays.copyOf(firstNames, slotCount);
+        String[] last = Arrays.copyOf(lastNames, slotCount);
+        String[] addressSource = Arrays.copyOf(addressTexts, slotCount);
+        boolean[] dead = Arrays.copyOf(deleted, slotCount);
+        int oldCount = slotCount;
+
+        nameGrams = new GramTable();
+        addressGrams = new GramTable();
+        slotById.clear();
+        slotCount = 0;
+        deletedCount = 0;
+        Arrays.fill(deleted, false);
+        for (int slot = 0; slot < oldCount; slot++) {
+            if (dead[slot]) {
+                continue;
+            }
+            int target = slotCount++;
+            studentIds[target] = ids[slot];
+            firstNames[target] = first[slot];
+            lastNames[target] = last[slot];
+            nameTexts[target] = " " + normalize(first[slot] + " " + last[slot]);
+            addressTexts[target] = addressSource[slot];
+            slotById.put(ids[slot], target);
+            indexText(nameGrams, nameTexts[target], target);
+            indexText(addressGrams, addressTexts[target], target);
+        }
+        Arrays.fill(firstNames, slotCount, oldCount, null);
+        Arrays.fill(lastNames, slotCount, oldCount, null);
+        Arrays.fill(nameTexts, slotCount, oldCount, null);
+        Arrays.fill(addressTexts, slotCount, oldCount, null);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= studentIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, studentIds.length * 2);
+        studentIds = Arrays.copyOf(studentIds, newCapacity);
+        firstNames = Arrays.copyOf(firstNames, newCapacity);
+        lastNames = Arrays.copyOf(lastNames, newCapacity);
+        nameTexts = Arrays.copyOf(nameTexts, newCapacity);
+        addressTexts = Arrays.copyOf(addressTexts, newCapacity);
+        deleted = Arrays.copyOf(deleted, newCapacity);
+    }
+
+    /**
+     * Indexes the word-start bigram of every word and every trigram of the space-prefixed text; the
+     * space marks word starts so "an" only matches words beginning with "an".
+     */
+    private static void indexText(GramTable table, String padded, int slot) {
+        for (int i = 0; i + 1 < padded.length(); i++) {
+            char first = padded.charAt(i);
+            if (first == ' ') {
+                table.add(gram(first, padded.charAt(i + 1)), slot);
+            }
+            if (i + 2 < padded.length()) {
+                table.add(gram(first, padded.charAt(i + 1), padded.charAt(i + 2)), slot);
+            }
+        }
+    }
+
+    private static long[] queryGrams(String query) {
+        String padded = " " + query;
+        if (padded.length() == 2) {
+            return new long[]{gram(padded.charAt(0), padded.charAt(1))};
+        }
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static long gram(char a, char b) {
+        return (1L << 48) | ((long) a << 16) | b;
+    }
+
+    /** lower-cases and collapses every run of non letters/digits to a single space */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Open-addressing hash table from an encoded gram to its posting list, avoiding boxed keys
+     * and boxed posting entries.
+     */
+    private static final class GramTable {
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private int[][] postings = new int[INITIAL_CAPACITY][];
+        private int[] sizes = new int[INITIAL_CAPACITY];
+        private int used;
+
+        int find(long key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return i;
+                }
+                if (keys[i] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        void add(long key, int slot) {
+            if ((used + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                keys[i] = key;
+                postings[i] = new int[4];
+                used++;
+            }
+            int size = sizes[i];
+            // slots are only ever appended, so a slot already at the tail means a repeated gram
+            if (size > 0 && postings[i][size - 1] == slot) {
+                return;
+            }
+            if (size == postings[i].length) {
+                postings[i] = Arrays.copyOf(postings[i], size * 2);
+            }
+            postings[i][size] = slot;
+            sizes[i] = size + 1;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[][] oldPostings = postings;
+            int[] oldSizes = sizes;
+            keys = new long[oldKeys.length * 2];
+            postings = new int[oldKeys.length * 2][];
+            sizes = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == 0) {
+                    continue;
+                }
+                int i = mix(oldKeys[j]) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                postings[i] = oldPostings[j];
+                sizes[i] = oldSizes[j];
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.anucode.schoolapp.services;
+
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSearchPageResponseDTO;
+import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
+import com.anucode.schoolapp.models.StudentRecord;
+import com.anucode.schoolapp.repositories.ReactiveStudentRepository;
+import com.anucode.schoolapp.search.StudentSearchCursor;
+import com.anucode.schoolapp.search.StudentSearchHit;
+import com.anucode.schoolapp.search.StudentSearchSort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static com.anucode.schoolapp.services.StudentService.MAX_PAGE_SIZE;
+
+/**
+ * Non-blocking read side of {@link StudentService} on R2DBC. Every method returns a cold
+ * publisher; nothing touches the database until the response subscribes, and list results are
+ * emitted as rows arrive so a slow client slows down the query instead of filling memory.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveStudentService {
+
+    @Autowired
+    private ReactiveStudentRepository reactiveStudentRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    public Mono<StudentPageResponseDTO> getStudentPage(Long afterId, int size){
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // fetch one extra row so we know whether another page exists without a COUNT(*)
+        return reactiveStudentRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, Limit.of(pageSize + 1))
+                .map(this::mapStudentToDTO)
+                .collectList()
+                .map(students -> {
+                    boolean hasNext = students.size() > pageSize;
+                    List<StudentResponseDTO> content = hasNext ? students.subList(0, pageSize) : students;
+                    Long nextCursor = content.isEmpty() ? null : content.get(content.size() - 1).getId();
+                    return new StudentPageResponseDTO(content, nextCursor, hasNext);
+                });
+    }
+
+    public Flux<StudentResponseDTO> streamStudents(Long afterId){
+        return reactiveStudentRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId)
+                .map(this::mapStudentToDTO);
+    }
+
+    public Mono<StudentResponseDTO> getStudentById(Long id){
+        return reactiveStudentRepository.findById(id)
+                .map(this::mapStudentToDTO)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("id=" + id + " Student not found!")));
+    }
+
+    /**
+     * Same matching and paging as {@link StudentService#searchStudent} on the LIKE backend: every keyword
+     * has to appear in firstName, lastName or address, and a page is the keyset slice after the cursor,
+     * read with one extra row for {@code hasNext}. Without keywords it pages through every student.
+     * There is no relevance score, so RELEVANCE pages in id order.
+     */
+    public Mono<StudentSearchPageResponseDTO> searchStudent(String[] keywordsArray, StudentSearchSort sort, StudentSearchCursor after, int size){
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Criteria criteria = Criteria.empty();
+        for (String keyword : keywordsArray){
+            String containsKeyword = "%" + keyword + "%";
+            criteria = criteria.and(Criteria.where("firstName").like(containsKeyword).ignoreCase(true)
+                    .or("lastName").like(containsKeyword).ignoreCase(true)
+                    .or("address").like(containsKeyword).ignoreCase(true));
+        }
+        if (after != null) {
+            criteria = criteria.and(sort == StudentSearchSort.LAST_NAME
+                    ? Criteria.where("lastName").greaterThanOrEquals(after.getLastName())
+                            .and(Criteria.where("lastName").greaterThan(after.getLastName()).or("id").greaterThan(after.getId()))
+                    : Criteria.where("id").greaterThan(after.getId()));
+        }
+        Query query = Query.query(criteria)
+                .sort(sort == StudentSearchSort.LAST_NAME ? Sort.by("lastName", "id") : Sort.by("id"))
+                .limit(pageSize + 1);
+        return r2dbcEntityTemplate.select(StudentRecord.class)
+                .matching(query)
+                .all()
+                .map(this::mapStudentToDTO)
+                .collectList()
+                .map(students -> {
+                    boolean hasNext = students.size() > pageSize;
+                    List<StudentResponseDTO> content = hasNext ? students.subList(0, pageSize) : students;
+                    String nextCursor = hasNext
+                            ? StudentSearchCursor.after(sort, StudentSearchHit.unscored(content.get(content.size() - 1))).encode()
+                            : null;
+                    return new StudentSearchPageResponseDTO(content, nextCursor, hasNext);
+                });
+    }
+
+    private StudentResponseDTO mapStudentToDTO(StudentRecord student) {
+        return new StudentResponseDTO(
+                student.getId(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getDateOfBirth() == null ? null : Date.from(student.getDateOfBirth().atZone(ZoneId.systemDefault()).toInstant()),
+                student.getAddress(),
+                student.getVersion()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.anucode.schoolapp.services;
+
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached {@code StudentResponseDTO}s once a change is committed, for single and bulk
+ * updates and deletes alike (a single update is published as a SAVED event). Evicting after
+ * commit keeps a concurrent read from putting the old row back into the cache while the write
+ * is still in flight.
+ */
+@Component
+public class StudentCacheEvictor {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        Cache cache = cacheManager.getCache(StudentService.STUDENT_CACHE);
+        if (cache != null) {
+            event.getIds().forEach(cache::evict);
+        }
+    }
+}
@@ -1,59 +1,152 @@
 package com.anucode.schoolapp.services;
 
 
+import com.anucode.schoolapp.dto.requestDto.StudentBulkUpdateRequestDTO;
 import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.dto.projections.StudentNameView;
+import com.anucode.schoolapp.dto.responseDto.BatchItemStatus;
+import com.anucode.schoolapp.dto.responseDto.StudentBatchItemResultDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentBatchResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
 import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSearchPageResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSuggestionDTO;
 
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import com.anucode.schoolapp.exceptions.BatchSizeExceededException;
+import com.anucode.schoolapp.exceptions.ConstraintViolations;
 import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
 import com.anucode.schoolapp.exceptions.StudentIdInvalidException;
 import com.anucode.schoolapp.exceptions.StudentNameAlreadyExistsException;
 import com.anucode.schoolapp.models.Student;
 import com.anucode.schoolapp.repositories.StudentRepository;
-import com.anucode.schoolapp.specifications.StudentSpecification;
+import com.anucode.schoolapp.search.StudentNameFilter;
+import com.anucode.schoolapp.search.StudentSearchCursor;
+import com.anucode.schoolapp.search.StudentSearchHit;
+import com.anucode.schoolapp.search.StudentSearchIndex;
+import com.anucode.schoolapp.search.StudentSearchSort;
+import com.anucode.schoolapp.search.StudentTrigramIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
 public class StudentService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int DEFAULT_SUGGESTION_LIMIT = 10;
+    public static final int MAX_SUGGESTION_LIMIT = 50;
+    public static final String STUDENT_CACHE = "students";
+
+    /** Entities persisted between flush/clear cycles; a multiple of hibernate.jdbc.batch_size. */
+    private static final int INSERT_CHUNK_SIZE = 500;
+
     @Autowired
     private StudentRepository studentRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    private StudentTrigramIndex studentTrigramIndex;
+
+    @Autowired
+    private StudentNameFilter studentNameFilter;
+
+    @Value("${schoolapp.students.precheck-names:false}")
+    private boolean precheckNames;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
 
+    @Transactional(readOnly = true)
     public List<StudentResponseDTO> getAllStudents(){
-        List<Student> students = studentRepository.findAll();
-        List<StudentResponseDTO> responseDTOList = new ArrayList<>();
-        students.forEach(student ->
-                  responseDTOList.add(new StudentResponseDTO(
-                          student.getId(),
-                          student.getFirstName(),
-                          student.getLastName(),
-                          student.getDateOfBirth(),
-                          student.getAddress()))
-                );
-        return responseDTOList;
+        return studentRepository.findAllResponses();
     }
 
+    /**
+     * Returns one keyset page of students ordered by id.
+     *
+     * @param afterId cursor from the previous page, or null for the first page.
+     * @param size requested page size, clamped to [1, MAX_PAGE_SIZE].
+     */
+    @Transactional(readOnly = true)
+    public StudentPageResponseDTO getStudentPage(Long afterId, int size){
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // fetch one extra row so we know whether another page exists without a COUNT(*)
+        List<StudentResponseDTO> students = studentRepository.findResponsesByIdGreaterThan(
+                afterId == null ? 0L : afterId,
+                Limit.of(pageSize + 1)
+        );
+        boolean hasNext = students.size() > pageSize;
+        if(hasNext){
+            students = students.subList(0, pageSize);
+        }
+        Long nextCursor = students.isEmpty() ? null : students.get(students.size() - 1).getId();
+        return new StudentPageResponseDTO(students, nextCursor, hasNext);
+    }
+
+    /**
+     * Walks every student after the given cursor in id order and hands each one to the consumer
+     * as it comes off the JDBC cursor. Rows are read as DTOs, so the persistence context does not
+     * grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void streamStudents(Long afterId, Consumer<StudentResponseDTO> consumer){
+        try(Stream<StudentResponseDTO> students = studentRepository.streamResponsesByIdGreaterThan(afterId == null ? 0L : afterId)){
+            students.forEach(consumer);
+        }
+    }
+
+    /**
+     * Cached per id. {@code sync} makes concurrent misses for the same id wait for a single load
+     * instead of all hitting the repository; entries are evicted by {@link StudentCacheEvictor}.
+     */
+    @Cacheable(cacheNames = STUDENT_CACHE, sync = true)
+    @Transactional(readOnly = true)
     public StudentResponseDTO getStudentById(Long id) throws ResourceNotFoundException {
-        Student student = studentRepository.findById(id)
+        return studentRepository.findResponseById(id)
                 .orElseThrow(()-> new ResourceNotFoundException("id=" + id + " Student not found!"));
-        return new StudentResponseDTO(
-                student.getId(),
-                student.getFirstName(),
-                student.getLastName(),
-                student.getDateOfBirth(),
-                student.getAddress()
-        );
     }
 
+    /**
+     * Inserts straight away and relies on the UQ_firstName_LastName constraint to reject
+     * duplicates, which is one round trip and safe under concurrent creates. With
+     * {@code schoolapp.students.precheck-names=true} possible duplicates are looked up first.
+     */
     public Long saveStudent(StudentRequestDTO studentRequestDTO) throws StudentNameAlreadyExistsException{
+        if(precheckNames && studentNameFilter.mightContain(studentRequestDTO.getFirstName(), studentRequestDTO.getLastName())){
             List<Student> existingStudentList = studentRepository.findByFirstNameAndLastName(
                     studentRequestDTO.getFirstName(),
                     studentRequestDTO.getLastName()
@@ -61,13 +154,80 @@ public class StudentService {
             if(!existingStudentList.isEmpty()){
                 throw new StudentNameAlreadyExistsException("firstName and LastName are already available");
             }
-            Student student = new Student(
+        }
+        Student student = new Student(
+                studentRequestDTO.getFirstName(),
+                studentRequestDTO.getLastName(),
+                studentRequestDTO.getDateOfBirth(),
+                studentRequestDTO.getAddress()
+        );
+        Student savedStudent = saveAndFlush(student);
+        eventPublisher.publishEvent(StudentChangedEvent.saved(List.of(mapStudentToDTO(savedStudent))));
+        return savedStudent.getId();
+    }
+
+    /**
+     * Saves a batch of students in one transaction. Every item is validated on its own, duplicates
+     * (against the database and within the batch) are found with a single set-based query, and the
+     * remaining students are inserted through JDBC batching.
+     *
+     * @return the number of inserted rows and a CREATED / DUPLICATE / INVALID result per item, in request order.
+     * @throws BatchSizeExceededException if the batch holds more than MAX_BATCH_SIZE items.
+     */
+    @Transactional
+    public StudentBatchResponseDTO saveStudents(List<StudentRequestDTO> studentRequestDTOs) throws BatchSizeExceededException {
+        if(studentRequestDTOs.size() > MAX_BATCH_SIZE){
+            throw new BatchSizeExceededException("batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+        StudentBatchItemResultDTO[] results = new StudentBatchItemResultDTO[studentRequestDTOs.size()];
+        Map<String, Integer> candidateIndexByName = new HashMap<>();
+        for(int i = 0; i < studentRequestDTOs.size(); i++){
+            StudentRequestDTO studentRequestDTO = studentRequestDTOs.get(i);
+            String violations = validate(studentRequestDTO);
+            if(violations != null){
+                results[i] = new StudentBatchItemResultDTO(i, null, BatchItemStatus.INVALID, violations);
+                continue;
+            }
+            Integer firstIndex = candidateIndexByName.putIfAbsent(nameKey(studentRequestDTO.getFirstName(), studentRequestDTO.getLastName()), i);
+            if(firstIndex != null){
+                results[i] = new StudentBatchItemResultDTO(i, null, BatchItemStatus.DUPLICATE, "duplicate of item " + firstIndex + " in this batch");
+            }
+        }
+
+        Set<String> existingNames = findExistingNames(candidateIndexByName.values().stream()
+                .map(studentRequestDTOs::get)
+                .filter(candidate -> studentNameFilter.mightContain(candidate.getFirstName(), candidate.getLastName()))
+                .toList());
+
+        List<Student> pending = new ArrayList<>(INSERT_CHUNK_SIZE);
+        List<Integer> pendingIndexes = new ArrayList<>(INSERT_CHUNK_SIZE);
+        List<StudentResponseDTO> createdStudents = new ArrayList<>();
+        int created = 0;
+        for(int i = 0; i < studentRequestDTOs.size(); i++){
+            if(results[i] != null){
+                continue;
+            }
+            StudentRequestDTO studentRequestDTO = studentRequestDTOs.get(i);
+            if(existingNames.contains(nameKey(studentRequestDTO.getFirstName(), studentRequestDTO.getLastName()))){
+                results[i] = new StudentBatchItemResultDTO(i, null, BatchItemStatus.DUPLICATE, "firstName and LastName are already available");
+                continue;
+            }
+            pending.add(new Student(
                     studentRequestDTO.getFirstName(),
                     studentRequestDTO.getLastName(),
                     studentRequestDTO.getDateOfBirth(),
                     studentRequestDTO.getAddress()
-            );
-        return studentRepository.save(student).getId();
+            ));
+            pendingIndexes.add(i);
+            if(pending.size() == INSERT_CHUNK_SIZE){
+                created += insertChunk(pending, pendingIndexes, results, createdStudents);
+            }
+        }
+        created += insertChunk(pending, pendingIndexes, results, createdStudents);
+        if(!createdStudents.isEmpty()){
+            eventPublisher.publishEvent(StudentChangedEvent.saved(createdStudents));
+        }
+        return new StudentBatchResponseDTO(created, List.of(results));
     }
 
     public Long updateStudent(Long id, StudentRequestDTO studentRequestDTO) throws StudentIdInvalidException {
@@ -77,34 +237,205 @@ public class StudentService {
         modifiedStudent.setLastName(studentRequestDTO.getLastName());
         modifiedStudent.setAddress(studentRequestDTO.getAddress());
         modifiedStudent.setDateOfBirth(studentRequestDTO.getDateOfBirth());
-        return studentRepository.save(modifiedStudent).getId();
+        Student savedStudent = saveAndFlush(modifiedStudent);
+        eventPublisher.publishEvent(StudentChangedEvent.saved(List.of(mapStudentToDTO(savedStudent))));
+        return savedStudent.getId();
     }
 
     public Long deleteStudent(Long id) throws StudentIdInvalidException {
         Student deletingStudent = studentRepository.findById(id)
                 .orElseThrow(()-> new StudentIdInvalidException("given id is invalid."));
         studentRepository.deleteById(id);
+        eventPublisher.publishEvent(StudentChangedEvent.deleted(List.of(id)));
         return id;
     }
 
-    public List<StudentResponseDTO> searchStudent(String[] keywordsArray) {
-        List<Student> students;
-        Specification<Student> specification = new StudentSpecification(keywordsArray);
-        students = studentRepository.findAll(specification);
+    /**
+     * Applies the same address and/or dateOfBirth to many students with one set-based UPDATE.
+     * Ids are checked with one id-only query; students are never loaded.
+     *
+     * @return the number of updated rows and an UPDATED / NOT_FOUND result per distinct id, in request order.
+     * @throws BatchSizeExceededException if more than MAX_BATCH_SIZE ids are given.
+     */
+    @Transactional
+    public StudentBatchResponseDTO updateStudents(StudentBulkUpdateRequestDTO studentBulkUpdateRequestDTO) throws BatchSizeExceededException {
+        Map<Long, Integer> indexById = distinctIds(studentBulkUpdateRequestDTO.getIds());
+        Set<Long> existingIds = new HashSet<>(studentRepository.findExistingIds(indexById.keySet()));
+        int affectedRows = existingIds.isEmpty() ? 0 : studentRepository.bulkUpdateAddressAndDateOfBirth(
+                existingIds,
+                blankToNull(studentBulkUpdateRequestDTO.getAddress()),
+                studentBulkUpdateRequestDTO.getDateOfBirth()
+        );
+        if(!existingIds.isEmpty()){
+            eventPublisher.publishEvent(StudentChangedEvent.updated(List.copyOf(existingIds)));
+        }
+        return new StudentBatchResponseDTO(affectedRows, bulkResults(indexById, existingIds, BatchItemStatus.UPDATED));
+    }
+
+    /**
+     * Deletes many students with one set-based DELETE. Ids are checked with one id-only query;
+     * students are never loaded.
+     *
+     * @return the number of deleted rows and a DELETED / NOT_FOUND result per distinct id, in request order.
+     * @throws BatchSizeExceededException if more than MAX_BATCH_SIZE ids are given.
+     */
+    @Transactional
+    public StudentBatchResponseDTO deleteStudents(List<Long> ids) throws BatchSizeExceededException {
+        Map<Long, Integer> indexById = distinctIds(ids);
+        Set<Long> existingIds = new HashSet<>(studentRepository.findExistingIds(indexById.keySet()));
+        int affectedRows = existingIds.isEmpty() ? 0 : studentRepository.bulkDeleteByIds(existingIds);
+        if(!existingIds.isEmpty()){
+            eventPublisher.publishEvent(StudentChangedEvent.deleted(List.copyOf(existingIds)));
+        }
+        return new StudentBatchResponseDTO(affectedRows, bulkResults(indexById, existingIds, BatchItemStatus.DELETED));
+    }
+
+    /**
+     * Searches firstName, lastName and address through the configured StudentSearchIndex, one keyset page
+     * at a time. Without keywords it pages through every student in the requested order. One row more than
+     * the page is read to tell whether another page exists, so no COUNT(*) is run.
+     *
+     * @param after position after the last student of the previous page, or null for the first page.
+     * @param size page size, clamped to [1, MAX_PAGE_SIZE].
+     */
+    @Transactional(readOnly = true)
+    public StudentSearchPageResponseDTO searchStudent(String[] keywordsArray, StudentSearchSort sort, StudentSearchCursor after, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<StudentSearchHit> hits = keywordsArray.length > 0
+                ? studentSearchIndex.search(keywordsArray, sort, after, pageSize + 1)
+                : listStudents(sort, after, pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        if(hasNext){
+            hits = hits.subList(0, pageSize);
+        }
+        String nextCursor = hasNext ? StudentSearchCursor.after(sort, hits.get(hits.size() - 1)).encode() : null;
+        List<StudentResponseDTO> students = hits.stream().map(StudentSearchHit::getStudent).toList();
+        return new StudentSearchPageResponseDTO(students, nextCursor, hasNext);
+    }
+
+    /**
+     * Typeahead over names and addresses, answered from the in-memory trigram index without a database call.
+     *
+     * @param limit maximum number of suggestions, clamped to [1, MAX_SUGGESTION_LIMIT].
+     */
+    public List<StudentSuggestionDTO> suggestStudents(String prefix, int limit) {
+        return studentTrigramIndex.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTION_LIMIT));
+    }
+
+    // without keywords there is no relevance, so RELEVANCE pages in id order like ID
+    private List<StudentSearchHit> listStudents(StudentSearchSort sort, StudentSearchCursor after, int limit) {
+        List<StudentResponseDTO> students;
+        if(sort == StudentSearchSort.LAST_NAME){
+            students = after == null
+                    ? studentRepository.findResponsesOrderByLastName(Limit.of(limit))
+                    : studentRepository.findResponsesByLastNameAfter(after.getLastName(), after.getId(), Limit.of(limit));
+        }else{
+            students = studentRepository.findResponsesByIdGreaterThan(after == null ? 0L : after.getId(), Limit.of(limit));
+        }
+        return students.stream().map(StudentSearchHit::unscored).toList();
+    }
+
+    private String validate(StudentRequestDTO studentRequestDTO) {
+        if(studentRequestDTO == null){
+            return "student should not be null";
+        }
+        Set<ConstraintViolation<StudentRequestDTO>> violations = validator.validate(studentRequestDTO);
+        if(violations.isEmpty()){
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Student saveAndFlush(Student student) {
+        try {
+            return studentRepository.saveAndFlush(student);
+        } catch (DataIntegrityViolationException ex) {
+            if(ConstraintViolations.isViolationOf(ex, Student.NAME_UNIQUE_CONSTRAINT)){
+                throw new StudentNameAlreadyExistsException("firstName and LastName are already available");
+            }
+            throw ex;
+        }
+    }
+
+    // MySQL compares names ignoring case, accents and trailing spaces, so the batch check does too
+    private static String nameKey(String firstName, String lastName) {
+        return StudentNameFilter.normalize(firstName) + '\u0000' + StudentNameFilter.normalize(lastName);
+    }
+
+    private Set<String> findExistingNames(List<StudentRequestDTO> candidates) {
+        Set<String> existingNames = new HashSet<>();
+        if(candidates.isEmpty()){
+            return existingNames;
+        }
+        Set<String> firstNames = new HashSet<>();
+        Set<String> lastNames = new HashSet<>();
+        candidates.forEach(candidate -> {
+            firstNames.add(candidate.getFirstName());
+            lastNames.add(candidate.getLastName());
+        });
+        for(StudentNameView name : studentRepository.findByFirstNameInAndLastNameIn(firstNames, lastNames)){
+            existingNames.add(nameKey(name.getFirstName(), name.getLastName()));
+        }
+        return existingNames;
+    }
+
+    private int insertChunk(List<Student> pending, List<Integer> pendingIndexes, StudentBatchItemResultDTO[] results,
+                            List<StudentResponseDTO> createdStudents) {
+        if(pending.isEmpty()){
+            return 0;
+        }
+        List<Student> saved = studentRepository.saveAll(pending);
+        entityManager.flush();
+        entityManager.clear();
+        for(int j = 0; j < saved.size(); j++){
+            createdStudents.add(mapStudentToDTO(saved.get(j)));
+            int index = pendingIndexes.get(j);
+            results[index] = new StudentBatchItemResultDTO(index, saved.get(j).getId(), BatchItemStatus.CREATED, null);
+        }
+        int inserted = saved.size();
+        pending.clear();
+        pendingIndexes.clear();
+        return inserted;
+    }
+
+    // keeps the first position of every id so results can be reported in request order
+    private Map<Long, Integer> distinctIds(List<Long> ids) {
+        if(ids.size() > MAX_BATCH_SIZE){
+            throw new BatchSizeExceededException("batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+        Map<Long, Integer> indexById = new LinkedHashMap<>();
+        for(int i = 0; i < ids.size(); i++){
+            if(ids.get(i) != null){
+                indexById.putIfAbsent(ids.get(i), i);
+            }
+        }
+        return indexById;
+    }
 
-        return mapStudentsToDTOs(students);
+    private List<StudentBatchItemResultDTO> bulkResults(Map<Long, Integer> indexById, Set<Long> existingIds, BatchItemStatus successStatus) {
+        List<StudentBatchItemResultDTO> results = new ArrayList<>(indexById.size());
+        indexById.forEach((id, index) -> results.add(existingIds.contains(id)
+                ? new StudentBatchItemResultDTO(index, id, successStatus, null)
+                : new StudentBatchItemResultDTO(index, id, BatchItemStatus.NOT_FOUND, "given id is invalid.")));
+        return results;
     }
 
-    private List<StudentResponseDTO> mapStudentsToDTOs(List<Student> students) {
-        return students.stream()
-                .map(student -> new StudentResponseDTO(
-                        student.getId(),
-                        student.getFirstName(),
-                        student.getLastName(),
-                        student.getDateOfBirth(),
-                        student.getAddress()
-                ))
-                .collect(Collectors.toList());
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private StudentResponseDTO mapStudentToDTO(Student student) {
+        return new StudentResponseDTO(
+                student.getId(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getDateOfBirth(),
+                student.getAddress(),
+                student.getVersion()
+        );
     }
 
 }
@@ -4,16 +4,41 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
+
+/**
+ * Logs controller calls at INFO. Nothing is built unless INFO is enabled and the call passes sampling
+ * ({@code schoolapp.logging.request-sample-rate}) and the per-second cap
+ * ({@code schoolapp.logging.max-requests-per-second}, 100 by default, 0 for no cap). Signatures are rendered
+ * once per method. The cap is the default because the log event itself (formatting and the async hand-off)
+ * costs far more per call than the advice; below 100 calls per second every call is still logged.
+ */
 @Aspect
 @Component
 public class LoggingAdvice {
     private final Logger logger = LoggerFactory.getLogger(LoggingAdvice.class);
 
+    @Value("${schoolapp.logging.request-sample-rate:1.0}")
+    private double sampleRate = 1.0;
+
+    @Value("${schoolapp.logging.max-requests-per-second:100}")
+    private int maxRequestsPerSecond = 100;
+
+    private final Map<Method, String> signatures = new ConcurrentHashMap<>();
+    private final AtomicInteger loggedInWindow = new AtomicInteger();
+    private volatile long windowSecond;
+
     @Pointcut(value = "execution(* com.anucode.schoolapp.controllers..*(..))")
     public void controllerMethods(){
 
@@ -21,8 +46,28 @@ public class LoggingAdvice {
 
     @Before("controllerMethods()")
     public void beforeMethodExecution(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().toShortString();
-        logger.info("Request received : "+methodName );
+        if (!logger.isInfoEnabled() || !isSampled() || !isWithinRateLimit()) {
+            return;
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        logger.info("Request received : {}", signatures.computeIfAbsent(method, m -> joinPoint.getSignature().toShortString()));
     }
-}
 
+    private boolean isSampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private boolean isWithinRateLimit() {
+        if (maxRequestsPerSecond <= 0) {
+            return true;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        if (second != windowSecond) {
+            // racing resets only let a few extra lines through at the window boundary
+            windowSecond = second;
+            loggedInWindow.set(0);
+        }
+        // once the window is full the counter is only read, so request threads do not contend on it
+        return loggedInWindow.get() < maxRequestsPerSecond && loggedInWindow.incrementAndGet() <= maxRequestsPerSecond;
+    }
+}
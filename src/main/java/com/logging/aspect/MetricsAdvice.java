@@ -0,0 +1,65 @@
+package com.logging.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public {@code StudentController} and {@code StudentService} method into the
+ * {@value #METHOD_TIMER} timer, tagged with class, method and the exception thrown ("none" on success).
+ * Percentiles and histogram buckets are configured through {@code management.metrics.distribution.*}.
+ */
+@Aspect
+@Component
+public class MetricsAdvice {
+
+    public static final String METHOD_TIMER = "schoolapp.method";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Pointcut(value = "execution(public * com.anucode.schoolapp.controllers.StudentController.*(..))")
+    public void studentControllerMethods(){
+
+    }
+
+    @Pointcut(value = "execution(public * com.anucode.schoolapp.services.StudentService.*(..))")
+    public void studentServiceMethods(){
+
+    }
+
+    @Around("studentControllerMethods() || studentServiceMethods()")
+    public Object timeMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(successTimers.computeIfAbsent(method, m -> timer(m, "none")));
+            return result;
+        } catch (Throwable ex) {
+            sample.stop(timer(method, ex.getClass().getSimpleName()));
+            throw ex;
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METHOD_TIMER)
+                .description("Execution time of student controller and service methods")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
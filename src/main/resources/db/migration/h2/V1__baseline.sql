@@ -0,0 +1,13 @@
+-- H2 counterpart of the MySQL baseline, used by the tests. The sequence must step by the same
+-- increment as StudentIdGenerator, which Hibernate checks on startup.
+create table tbl_student (
+    id bigint not null,
+    address varchar(255),
+    date_of_birth timestamp(6),
+    first_name varchar(255),
+    last_name varchar(255),
+    primary key (id),
+    constraint UQ_firstName_LastName unique (first_name, last_name)
+);
+
+create sequence student_seq start with 1 increment by ${studentIdIncrementSize};
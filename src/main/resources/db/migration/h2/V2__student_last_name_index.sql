@@ -0,0 +1 @@
+create index IX_lastName_id on tbl_student (last_name, id);
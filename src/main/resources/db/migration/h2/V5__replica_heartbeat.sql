@@ -0,0 +1,6 @@
+create table replica_heartbeat (
+    id int primary key,
+    beat_millis bigint not null
+);
+
+insert into replica_heartbeat (id, beat_millis) values (1, 0);
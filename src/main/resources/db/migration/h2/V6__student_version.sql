@@ -0,0 +1 @@
+alter table tbl_student add column version bigint default 0 not null;
@@ -0,0 +1,17 @@
+-- Schema as spring.jpa.hibernate.ddl-auto=update left it. Databases created that way are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and pick up from V2.
+create table tbl_student (
+    id bigint not null,
+    address varchar(255),
+    date_of_birth datetime(6),
+    first_name varchar(255),
+    last_name varchar(255),
+    primary key (id),
+    constraint UQ_firstName_LastName unique (first_name, last_name)
+) engine=InnoDB;
+
+create table student_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into student_seq values (1);
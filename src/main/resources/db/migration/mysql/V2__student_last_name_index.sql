@@ -0,0 +1,11 @@
+-- Keyset pages sorted by lastName: where last_name >= ? ... order by last_name, id limit ?
+-- reads this index in order, with no filesort. ddl-auto may already have created a single-column
+-- IX_lastName, which this replaces.
+set @ix_exists = (select count(*) from information_schema.statistics
+                  where table_schema = database() and table_name = 'tbl_student' and index_name = 'IX_lastName');
+set @ddl = if(@ix_exists > 0, 'drop index IX_lastName on tbl_student', 'do 0');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
+
+create index IX_lastName_id on tbl_student (last_name, id);
@@ -0,0 +1,10 @@
+-- MATCH ... AGAINST index for the fulltext search backend. It used to be created on startup, so
+-- baselined databases may already have it.
+set @ft_exists = (select count(*) from information_schema.statistics
+                  where table_schema = database() and table_name = 'tbl_student' and index_name = 'FT_student_name_address');
+set @ddl = if(@ft_exists = 0,
+              'alter table tbl_student add fulltext index FT_student_name_address (first_name, last_name, address)',
+              'do 0');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
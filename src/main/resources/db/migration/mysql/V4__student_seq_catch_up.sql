@@ -0,0 +1,13 @@
+-- Databases created before the pooled-lo StudentIdGenerator kept their ids in hibernate_sequence, or
+-- stored the high end of the last block in student_seq. Move student_seq past the highest existing id
+-- so no block overlaps ids already taken.
+create table if not exists student_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into student_seq (next_val)
+select 1 from dual where not exists (select * from student_seq);
+
+update student_seq
+set next_val = (select coalesce(max(id), 0) + 1 from tbl_student)
+where next_val < (select coalesce(max(id), 0) + 1 from tbl_student);
@@ -0,0 +1,7 @@
+-- Written on the primary and read back from the replica by ReplicaLagMonitor.
+create table if not exists replica_heartbeat (
+    id int primary key,
+    beat_millis bigint not null
+) engine=InnoDB;
+
+insert ignore into replica_heartbeat (id, beat_millis) values (1, 0);
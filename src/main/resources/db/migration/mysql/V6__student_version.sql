@@ -0,0 +1,2 @@
+-- Optimistic-lock version of each student, exposed to clients as the ETag. Existing rows start at 0.
+alter table tbl_student add column version bigint default 0 not null;
@@ -0,0 +1,35 @@
+package com.anucode.schoolapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePoolSizerTest {
+
+    private final AdaptivePoolSizer underTest = new AdaptivePoolSizer();
+
+    @Test
+    public void Should_GrowByWaitingThreads_When_RequestsWaitForConnections() {
+        assertEquals(13, underTest.nextMaximumPoolSize(10, 10, 3));
+    }
+
+    @Test
+    public void Should_NotGrowBeyondMaxSize_When_ManyRequestsWait() {
+        assertEquals(40, underTest.nextMaximumPoolSize(38, 38, 100));
+    }
+
+    @Test
+    public void Should_ShrinkByOne_When_AtMostHalfOfPoolIsActive() {
+        assertEquals(9, underTest.nextMaximumPoolSize(10, 5, 0));
+    }
+
+    @Test
+    public void Should_NotShrinkBelowMinSize_When_PoolIsIdle() {
+        assertEquals(4, underTest.nextMaximumPoolSize(4, 0, 0));
+    }
+
+    @Test
+    public void Should_KeepSize_When_PoolIsBusyWithoutWaiters() {
+        assertEquals(10, underTest.nextMaximumPoolSize(10, 8, 0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.anucode.schoolapp.config;
+
+import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.metrics.QueryStats;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import com.anucode.schoolapp.services.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two embedded H2 databases stand in for the primary and the replica. Nothing replicates between them:
+ * the replica holds a different student row, so each read shows which database answered, and tests
+ * "replicate" the heartbeat by copying it across.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "schoolapp.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "schoolapp.datasource.replica.max-lag=5s",
+        "schoolapp.datasource.replica.lag-probe-interval=PT1H",
+        "schoolapp.search.backend=memory",
+        "spring.jpa.show-sql=false"})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    public void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists tbl_student (id bigint primary key, first_name varchar(255), " +
+                "last_name varchar(255), date_of_birth timestamp, address varchar(255), version bigint default 0 not null)");
+        replica.execute("create table if not exists " + ReplicaLagMonitor.HEARTBEAT_TABLE +
+                " (id int primary key, beat_millis bigint not null)");
+        replica.update("merge into tbl_student key (id) values (1000, 'Replica', 'Student', null, 'Kandy', 0)");
+        replica.update("merge into " + ReplicaLagMonitor.HEARTBEAT_TABLE + " key (id) values (1, 0)");
+        // first beat on the primary; the scheduled probe does not run within the test
+        replicaLagMonitor.probe();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void Should_ReadFromReplicaAndWriteToPrimary_When_ReplicaIsCurrent() {
+        //given
+        replicateHeartbeat(0);
+        replicaLagMonitor.probe();
+
+        //when
+        Long id = studentService.saveStudent(new StudentRequestDTO("Primary", "Student", new Date(0), "Colombo"));
+        List<StudentResponseDTO> students = new ArrayList<>();
+        QueryStats stats = QueryStats.measure(() -> students.addAll(studentService.getAllStudents()));
+
+        //then
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        // counted once, by the replica pool's wrapper, not again by the routing DataSource
+        assertEquals(1, stats.getStatements());
+        assertEquals(1, primary.queryForObject("select count(*) from tbl_student where id = ?", Integer.class, id));
+        assertEquals(List.of("Replica"), students.stream().map(StudentResponseDTO::getFirstName).toList());
+    }
+
+    @Test
+    public void Should_ReadFromPrimary_When_ReplicaLagExceedsMaxLag() {
+        //given
+        studentService.saveStudent(new StudentRequestDTO("Primary", "Student", new Date(0), "Colombo"));
+        replicateHeartbeat(60_000);
+        replicaLagMonitor.probe();
+
+        //when
+        List<StudentResponseDTO> students = studentService.getAllStudents();
+
+        //then
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(replicaLagMonitor.getLagMillis() >= 60_000);
+        assertEquals(List.of("Primary"), students.stream().map(StudentResponseDTO::getFirstName).toList());
+    }
+
+    @Test
+    public void Should_ReadFromPrimary_When_ReplicaProbeFails() {
+        //given
+        studentService.saveStudent(new StudentRequestDTO("Primary", "Student", new Date(0), "Colombo"));
+        replicateHeartbeat(0);
+        replicaLagMonitor.probe();
+        replica.execute("drop table " + ReplicaLagMonitor.HEARTBEAT_TABLE);
+        replicaLagMonitor.probe();
+
+        //when
+        List<StudentResponseDTO> students = studentService.getAllStudents();
+
+        //then
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals(-1, replicaLagMonitor.getLagMillis());
+        assertEquals(List.of("Primary"), students.stream().map(StudentResponseDTO::getFirstName).toList());
+    }
+
+    // copies the primary's heartbeat to the replica, as replication would, minus the given lag
+    private void replicateHeartbeat(long lagMillis) {
+        Long beat = primary.queryForObject("select beat_millis from " + ReplicaLagMonitor.HEARTBEAT_TABLE + " where id = 1", Long.class);
+        replica.update("update " + ReplicaLagMonitor.HEARTBEAT_TABLE + " set beat_millis = ? where id = 1", beat - lagMillis);
+    }
+}
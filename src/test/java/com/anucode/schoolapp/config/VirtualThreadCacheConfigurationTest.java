@@ -0,0 +1,53 @@
+package com.anucode.schoolapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadCacheConfigurationTest {
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+    }
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(CacheAutoConfiguration.class))
+            .withUserConfiguration(CachingConfig.class, VirtualThreadCacheConfiguration.class)
+            .withPropertyValues("spring.cache.type=caffeine", "spring.cache.cache-names=students",
+                    "spring.cache.caffeine.spec=maximumSize=100");
+
+    @Test
+    public void Should_LoadOnVirtualThread_When_VirtualThreadsEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            //given
+            CaffeineCache cache = (CaffeineCache) context.getBean(CacheManager.class).getCache("students");
+
+            //when
+            Boolean loadedOnVirtualThread = cache.get(1L, () -> Thread.currentThread().isVirtual());
+
+            //then
+            assertNotNull(cache.getAsyncCache());
+            assertTrue(loadedOnVirtualThread);
+        });
+    }
+
+    @Test
+    public void Should_KeepSynchronousCache_When_VirtualThreadsDisabled() {
+        contextRunner.run(context -> {
+            //given
+            CaffeineCache cache = (CaffeineCache) context.getBean(CacheManager.class).getCache("students");
+
+            //when, then
+            assertFalse(cache.get(1L, () -> Thread.currentThread().isVirtual()));
+            assertThrows(IllegalStateException.class, cache::getAsyncCache);
+        });
+    }
+}
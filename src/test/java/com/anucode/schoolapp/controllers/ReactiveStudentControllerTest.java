@@ -0,0 +1,209 @@
+package com.anucode.schoolapp.controllers;
+
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSearchPageResponseDTO;
+import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
+import com.anucode.schoolapp.search.StudentSearchCursor;
+import com.anucode.schoolapp.search.StudentSearchHit;
+import com.anucode.schoolapp.search.StudentSearchSort;
+import com.anucode.schoolapp.services.ReactiveStudentService;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveStudentController.class)
+@ActiveProfiles("reactive")
+@Import(SimpleMeterRegistry.class)
+class ReactiveStudentControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveStudentService reactiveStudentService;
+
+    @Test
+    public void Should_ReturnPageWithStatus200_When_GetAll() {
+        //given
+        StudentResponseDTO student = new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L);
+        when(reactiveStudentService.getStudentPage(null, 20)).thenReturn(Mono.just(new StudentPageResponseDTO(List.of(student), 1L, true)));
+
+        //when, then
+        webTestClient.get().uri("/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].firstName").isEqualTo("Anna")
+                .jsonPath("$.nextCursor").isEqualTo(1)
+                .jsonPath("$.hasNext").isEqualTo(true);
+    }
+
+    @Test
+    public void Should_ReturnStatus404_When_NoRecordFoundWithGivenId() {
+        //given
+        when(reactiveStudentService.getStudentById(7L)).thenReturn(Mono.error(new ResourceNotFoundException("id=7 Student not found!")));
+
+        //when, then
+        webTestClient.get().uri("/users/7")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("id=7 Student not found!");
+    }
+
+    @Test
+    public void Should_StreamCsvRows_When_ExportFormatIsCsv() {
+        //given
+        when(reactiveStudentService.streamStudents(null)).thenReturn(Flux.just(
+                new StudentResponseDTO(1L, "Anna", "Johns", null, "Galle Road, Colombo", 0L),
+                new StudentResponseDTO(2L, "Bob", "Ronald", null, "Galle", 0L)));
+
+        //when, then
+        webTestClient.get().uri("/users/export?format=csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectHeader().valueEquals("Content-Disposition", "attachment; filename=\"students.csv\"")
+                .expectBody(String.class).isEqualTo("id,firstName,lastName,dateOfBirth,address\r\n" +
+                        "1,Anna,Johns,,\"Galle Road, Colombo\"\r\n" +
+                        "2,Bob,Ronald,,Galle\r\n");
+    }
+
+    @Test
+    public void Should_StreamOneJsonObjectPerLine_When_ExportFormatIsNdjson() {
+        //given
+        when(reactiveStudentService.streamStudents(null)).thenReturn(Flux.just(
+                new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L),
+                new StudentResponseDTO(2L, "Bob", "Ronald", null, "Galle", 0L)));
+
+        //when, then
+        webTestClient.get().uri("/users/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo(
+                        "{\"id\":1,\"firstName\":\"Anna\",\"lastName\":\"Johns\",\"dateOfBirth\":null,\"address\":\"Colombo\"}\n" +
+                        "{\"id\":2,\"firstName\":\"Bob\",\"lastName\":\"Ronald\",\"dateOfBirth\":null,\"address\":\"Galle\"}\n");
+    }
+
+    @Test
+    public void Should_ReturnStatus400_When_ExportFormatIsUnknown() {
+        webTestClient.get().uri("/users/export?format=xml")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void Should_SearchWithSplitKeywords_When_GivenMultipleKeywords() {
+        //given
+        when(reactiveStudentService.searchStudent(argThat(keywords -> Arrays.equals(keywords, new String[]{"anna", "colombo"})),
+                eq(StudentSearchSort.RELEVANCE), isNull(), eq(20)))
+                .thenReturn(Mono.just(new StudentSearchPageResponseDTO(
+                        List.of(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L)), null, false)));
+
+        //when, then
+        webTestClient.get().uri("/users/search?keywords=anna colombo")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(1)
+                .jsonPath("$.hasNext").isEqualTo(false);
+    }
+
+    @Test
+    public void Should_SearchFirstPage_When_KeywordsAreBlank() {
+        //given
+        when(reactiveStudentService.searchStudent(argThat(keywords -> keywords.length == 0), eq(StudentSearchSort.LAST_NAME), isNull(), eq(2)))
+                .thenReturn(Mono.just(new StudentSearchPageResponseDTO(
+                        List.of(new StudentResponseDTO(1L, "Anuki", "Alwis", null, "Colombo", 0L)), "bjoxOkFsd2lz", true)));
+
+        //when, then
+        webTestClient.get().uri("/users/search?keywords= &sort=lastName&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.nextCursor").isEqualTo("bjoxOkFsd2lz")
+                .jsonPath("$.hasNext").isEqualTo(true);
+    }
+
+    @Test
+    public void Should_SearchReturnStatus400_When_CursorBelongsToAnotherSort() {
+        //given
+        String idCursor = StudentSearchCursor.after(StudentSearchSort.ID,
+                StudentSearchHit.unscored(new StudentResponseDTO(5L, "Anna", "Johns", null, "Colombo", 0L))).encode();
+
+        //when, then
+        webTestClient.get().uri("/users/search?sort=lastName&after={after}", idCursor)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+
+    @Test
+    public void Should_ReturnSmileStudent_When_AcceptIsSmile() throws Exception {
+        //given
+        StudentResponseDTO student = new StudentResponseDTO(1L, "Anna", "Johns", new Date(957484800000L), "Colombo", 0L);
+        when(reactiveStudentService.getStudentById(1L)).thenReturn(Mono.just(student));
+
+        //when
+        byte[] body = webTestClient.get().uri("/users/1")
+                .accept(MediaType.parseMediaType("application/x-jackson-smile"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-jackson-smile")
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        //then
+        assertEquals(student, new SmileMapper().readValue(body, StudentResponseDTO.class));
+    }
+
+    @Test
+    public void Should_ReturnJson_When_AcceptIsAnything() {
+        //given
+        when(reactiveStudentService.getStudentById(1L)).thenReturn(Mono.just(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L)));
+
+        //when, then
+        webTestClient.get().uri("/users/1")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Anna");
+    }
+
+    @Test
+    public void Should_ReturnStatus304_When_IfNoneMatchIsCurrentVersion() {
+        //given
+        when(reactiveStudentService.getStudentById(1L)).thenReturn(Mono.just(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 3L)));
+
+        //when, then
+        webTestClient.get().uri("/users/1")
+                .ifNoneMatch("W/\"1-3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "W/\"1-3\"")
+                .expectBody().isEmpty();
+    }
+}
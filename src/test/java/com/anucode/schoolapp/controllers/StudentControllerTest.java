@@ -1,12 +1,34 @@
 package com.anucode.schoolapp.controllers;
 
 import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.dto.responseDto.BatchItemStatus;
+import com.anucode.schoolapp.dto.responseDto.StudentBatchItemResultDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentBatchResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
 import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSearchPageResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSuggestionDTO;
+import com.anucode.schoolapp.exceptions.BatchSizeExceededException;
+import com.anucode.schoolapp.exceptions.GlobalExceptionHandler;
 import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
 import com.anucode.schoolapp.exceptions.StudentIdInvalidException;
+import com.anucode.schoolapp.exceptions.StudentNameAlreadyExistsException;
+import com.anucode.schoolapp.export.StudentExporter;
+import com.anucode.schoolapp.metrics.QueryStatsResponseAdvice;
 import com.anucode.schoolapp.models.Student;
+import com.anucode.schoolapp.search.StudentSearchCursor;
+import com.anucode.schoolapp.search.StudentSearchHit;
+import com.anucode.schoolapp.search.StudentSearchSort;
 import com.anucode.schoolapp.services.StudentService;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,8 +36,11 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -24,15 +49,24 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
-@WebMvcTest(StudentController.class)
+@WebMvcTest(controllers = StudentController.class, properties = "schoolapp.sql.stats-headers=true")
+@Import({StudentExporter.class, SimpleMeterRegistry.class})
 class StudentControllerTest {
 
     @Autowired
@@ -41,6 +75,9 @@ class StudentControllerTest {
     @MockBean
     private StudentService studentService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private StudentRequestDTO studentRequestDTO;
     private StudentResponseDTO studentResponseDTO;
 
@@ -49,7 +86,7 @@ class StudentControllerTest {
     public void Should_ReturnStatusOk_When_GivenValidStudent() throws Exception {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
         studentRequestDTO = new StudentRequestDTO("Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
-        studentResponseDTO = new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
+        studentResponseDTO = new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo", 0L);
 
         when(studentService.saveStudent(studentRequestDTO)).thenReturn(studentResponseDTO.getId());
 
@@ -65,6 +102,43 @@ class StudentControllerTest {
     }
 
 
+    @Test
+    @DisplayName("Student Save - Duplicate Name")
+    public void Should_SaveReturnStatusBadRequest_When_StudentNameAlreadyExists() throws Exception {
+        when(studentService.saveStudent(any(StudentRequestDTO.class)))
+                .thenThrow(new StudentNameAlreadyExistsException("firstName and LastName are already available"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\n" +
+                                "    \"firstName\": \"Tim\",\n" +
+                                "    \"lastName\": \"Thomsan\",\n" +
+                                "    \"dateOfBirth\": \"2000-01-01\",\n" +
+                                "    \"address\": \"Jaffna\"\n" +
+                                "}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().string("firstName and LastName are already available"));
+    }
+
+    @Test
+    @DisplayName("Student Update - Name Constraint Violation")
+    public void Should_UpdateReturnStatusBadRequest_When_NameConstraintViolated() throws Exception {
+        when(studentService.updateStudent(eq(1L), any(StudentRequestDTO.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("Duplicate entry", null, "tbl_student.UQ_firstName_LastName")));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\n" +
+                                "    \"firstName\": \"Tim\",\n" +
+                                "    \"lastName\": \"Thomsan\",\n" +
+                                "    \"dateOfBirth\": \"2000-01-01\",\n" +
+                                "    \"address\": \"Jaffna\"\n" +
+                                "}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().string("firstName and LastName are already available"));
+    }
+
     @Test
     @DisplayName("Student Save - Fail Case 1")
     public void Should_SaveReturnStatusBadRequest_When_GivenStudentWithMissingField() throws Exception {
@@ -98,6 +172,99 @@ class StudentControllerTest {
     }
 
 
+    @Test
+    @DisplayName("Student Batch Save - Happy Path")
+    public void Should_BatchSaveReturnResultPerItem_When_GivenStudentList() throws Exception {
+        //given
+        StudentBatchResponseDTO response = new StudentBatchResponseDTO(1, List.of(
+                new StudentBatchItemResultDTO(0, 5L, BatchItemStatus.CREATED, null),
+                new StudentBatchItemResultDTO(1, null, BatchItemStatus.INVALID, "lastName should not be null or blank")));
+
+        //when
+        when(studentService.saveStudents(anyList())).thenReturn(response);
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                    {"firstName": "Tim", "lastName": "Thomsan", "dateOfBirth": "2000-01-01", "address": "Jaffna"},
+                                    {"firstName": "Sam", "dateOfBirth": "2000-01-01", "address": "Jaffna"}
+                                ]"""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.affectedRows").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].id").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[1].status").value("INVALID"));
+    }
+
+    @Test
+    @DisplayName("Student Batch Save - Fail Case 1")
+    public void Should_BatchSaveReturnStatusBadRequest_When_BatchTooLarge() throws Exception {
+        //when
+        when(studentService.saveStudents(anyList())).thenThrow(new BatchSizeExceededException("batch size must not exceed 10000"));
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    @DisplayName("Student Bulk Update - Happy Path")
+    public void Should_BulkUpdateReturnResultPerId_When_GivenIdsAndAddress() throws Exception {
+        //given
+        StudentBatchResponseDTO response = new StudentBatchResponseDTO(1, List.of(
+                new StudentBatchItemResultDTO(0, 1L, BatchItemStatus.UPDATED, null),
+                new StudentBatchItemResultDTO(1, 33L, BatchItemStatus.NOT_FOUND, "given id is invalid.")));
+
+        //when
+        when(studentService.updateStudents(any())).thenReturn(response);
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.patch("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids": [1, 33], "address": "Galle"}"""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.affectedRows").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("Student Bulk Update - Fail Case 1")
+    public void Should_BulkUpdateReturnStatusBadRequest_When_NoFieldGiven() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids": [1, 33]}"""))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.anyFieldGiven").value("address or dateOfBirth should be given"));
+    }
+
+    @Test
+    @DisplayName("Student Bulk Delete - Happy Path")
+    public void Should_BulkDeleteReturnResultPerId_When_GivenIds() throws Exception {
+        //given
+        StudentBatchResponseDTO response = new StudentBatchResponseDTO(2, List.of(
+                new StudentBatchItemResultDTO(0, 1L, BatchItemStatus.DELETED, null),
+                new StudentBatchItemResultDTO(1, 2L, BatchItemStatus.DELETED, null)));
+
+        //when
+        when(studentService.deleteStudents(List.of(1L, 2L))).thenReturn(response);
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.delete("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.affectedRows").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].status").value("DELETED"));
+    }
+
+
     @Test
     @DisplayName("Student Update - Happy Path")
     public void Should_UpdateReturnStatusOk_When_GivenStudentUpdate() throws Exception {
@@ -144,12 +311,13 @@ class StudentControllerTest {
         //given
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
         dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-        StudentResponseDTO studentResponseDTO1= new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
-        StudentResponseDTO studentResponseDTO2= new StudentResponseDTO(2L,"Bella", "Ruzzi", dateFormat.parse("2000-05-05"),"Jaffna");
+        StudentResponseDTO studentResponseDTO1= new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo", 0L);
+        StudentResponseDTO studentResponseDTO2= new StudentResponseDTO(2L,"Bella", "Ruzzi", dateFormat.parse("2000-05-05"),"Jaffna", 0L);
         List<StudentResponseDTO> list = new ArrayList<StudentResponseDTO>();
         list.add(studentResponseDTO1);
         list.add(studentResponseDTO2);
-        String expectedJson = "[\n" +
+        String expectedJson = "{\n" +
+                "  \"content\": [\n" +
                 "    {\n" +
                 "        \"id\": 1,\n" +
                 "        \"firstName\": \"Anna\",\n" +
@@ -164,9 +332,13 @@ class StudentControllerTest {
                 "        \"dateOfBirth\": \"2000-05-05T00:00:00.000+00:00\",\n" +
                 "        \"address\": \"Jaffna\"\n" +
                 "    }\n" +
-                "]\n";;
+                "  ],\n" +
+                "  \"nextCursor\": 2,\n" +
+                "  \"hasNext\": false\n" +
+                "}\n";
         //when
-        when(studentService.getAllStudents()).thenReturn(list);
+        when(studentService.getStudentPage(null, StudentService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new StudentPageResponseDTO(list, 2L, false));
 
         //then
         mockMvc.perform(MockMvcRequestBuilders.get("/users"))
@@ -182,13 +354,113 @@ class StudentControllerTest {
         List<StudentResponseDTO> list = new ArrayList<StudentResponseDTO>();
 
         //when
-        when(studentService.getAllStudents()).thenReturn(list);
+        when(studentService.getStudentPage(null, StudentService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new StudentPageResponseDTO(list, null, false));
 
         //then
         mockMvc.perform(MockMvcRequestBuilders.get("/users"))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(MockMvcResultMatchers.content().json("[]"));
+                .andExpect(MockMvcResultMatchers.content().json("{\"content\": [], \"hasNext\": false}"));
+    }
+
+    @Test
+    @DisplayName("Student GetAll - Next Page")
+    public void Should_GetAllPassCursorAndSize_When_GivenAfterAndSize() throws Exception {
+        //given
+        List<StudentResponseDTO> list = new ArrayList<StudentResponseDTO>();
+        list.add(new StudentResponseDTO(11L,"Anna", "Johns", null,"Colombo", 0L));
+
+        //when
+        when(studentService.getStudentPage(10L, 1)).thenReturn(new StudentPageResponseDTO(list, 11L, true));
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get("/users?after={after}&size={size}", 10L, 1))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(11))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value(11))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("Student GetAll - Streaming")
+    public void Should_StreamAllStudentsAsJsonArray_When_StreamRequested() throws Exception {
+        //when
+        doAnswer(invocation -> {
+            Consumer<StudentResponseDTO> consumer = invocation.getArgument(1);
+            consumer.accept(new StudentResponseDTO(1L,"Anna", "Johns", null,"Colombo", 0L));
+            consumer.accept(new StudentResponseDTO(2L,"Bella", "Ruzzi", null,"Jaffna", 0L));
+            return null;
+        }).when(studentService).streamStudents(eq(null), any());
+
+        //then
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users?stream=true"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].firstName").value("Bella"));
+    }
+
+    @Test
+    @DisplayName("Student Export - NDJSON")
+    public void Should_ExportOneJsonObjectPerLine_When_GivenNdjsonFormat() throws Exception {
+        //when
+        doAnswer(invocation -> {
+            Consumer<StudentResponseDTO> consumer = invocation.getArgument(1);
+            consumer.accept(new StudentResponseDTO(1L,"Anna", "Johns", null,"Colombo", 0L));
+            consumer.accept(new StudentResponseDTO(2L,"Bella", "Ruzzi", null,"Jaffna", 0L));
+            return null;
+        }).when(studentService).streamStudents(eq(null), any());
+
+        //then
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/export?format=ndjson"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition", "attachment; filename=\"students.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1, (Integer) JsonPath.read(lines[0], "$.id"));
+        assertEquals("Ruzzi", JsonPath.read(lines[1], "$.lastName"));
+    }
+
+    @Test
+    @DisplayName("Student Export - CSV")
+    public void Should_ExportCsvWithHeaderAndQuotedFields_When_GivenCsvFormat() throws Exception {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        //when
+        doAnswer(invocation -> {
+            Consumer<StudentResponseDTO> consumer = invocation.getArgument(1);
+            consumer.accept(new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"12, \"Main\" St", 0L));
+            return null;
+        }).when(studentService).streamStudents(eq(null), any());
+
+        //then
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/export?format=csv"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("text/csv"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "id,firstName,lastName,dateOfBirth,address\r\n" +
+                        "1,Anna,Johns,2000-05-05,\"12, \"\"Main\"\" St\"\r\n"));
+    }
+
+    @Test
+    @DisplayName("Student Export - Fail Case 1")
+    public void Should_ExportReturnStatusBadRequest_When_GivenUnsupportedFormat() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/export?format=xlsx"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
     @Test
@@ -198,7 +470,7 @@ class StudentControllerTest {
         Long id = 1L;
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
         dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-        StudentResponseDTO studentResponseDTO= new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
+        StudentResponseDTO studentResponseDTO= new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo", 0L);
         String expectedJson = "{\n" +
                 "    \"id\": 1,\n" +
                 "    \"firstName\": \"Anna\",\n" +
@@ -214,7 +486,9 @@ class StudentControllerTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/users/{id}",id))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(MockMvcResultMatchers.content().json(expectedJson));
+                .andExpect(MockMvcResultMatchers.content().json(expectedJson))
+                .andExpect(MockMvcResultMatchers.header().string(QueryStatsResponseAdvice.QUERY_COUNT_HEADER, "0"))
+                .andExpect(MockMvcResultMatchers.header().exists(QueryStatsResponseAdvice.QUERY_TIME_HEADER));
 
     }
 
@@ -230,6 +504,7 @@ class StudentControllerTest {
         //then
         mockMvc.perform(MockMvcRequestBuilders.get("/users/{id}", id))
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
+        assertEquals(1, meterRegistry.counter(GlobalExceptionHandler.EXCEPTIONS_COUNTER, "exception", "ResourceNotFoundException").count());
     }
 
 
@@ -269,21 +544,26 @@ class StudentControllerTest {
         String searchText = "Anuki Alwis";
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
         List<StudentResponseDTO> responseDTOlist = new ArrayList<StudentResponseDTO>();
-        responseDTOlist.add(new StudentResponseDTO(1L,"Anuki", "Alwis",dateFormat.parse("2000-01-11"),"Colombo"));
+        responseDTOlist.add(new StudentResponseDTO(1L,"Anuki", "Alwis",dateFormat.parse("2000-01-11"),"Colombo", 0L));
         String expectedJson = """
-                [
-                    {
-                        "id": 1,
-                        "firstName": "Anuki",
-                        "lastName": "Alwis",
-                        "dateOfBirth": "2000-01-10T18:00:00.000+00:00",
-                        "address": "Colombo"
-                    }
-                ]""";
+                {
+                    "content": [
+                        {
+                            "id": 1,
+                            "firstName": "Anuki",
+                            "lastName": "Alwis",
+                            "dateOfBirth": "2000-01-10T18:00:00.000+00:00",
+                            "address": "Colombo"
+                        }
+                    ],
+                    "nextCursor": null,
+                    "hasNext": false
+                }""";
 
         //when
         String[] keywordsArray = searchText.split("\\s+");
-        when(studentService.searchStudent(keywordsArray)).thenReturn(responseDTOlist);
+        when(studentService.searchStudent(keywordsArray, StudentSearchSort.RELEVANCE, null, StudentService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new StudentSearchPageResponseDTO(responseDTOlist, null, false));
 
         //when, then
         mockMvc.perform(MockMvcRequestBuilders.get("/users/search?keywords={searchText}",searchText))
@@ -294,12 +574,197 @@ class StudentControllerTest {
 
 
     @Test
-    @DisplayName("Student Search - Fail Case 1") // Status200 ,with all student details
+    @DisplayName("Student Search - Fail Case 1") // Status200 ,with the first page of students
     public void Should_SearchedReturnWithStatus200_When_GivenNotGivenPathVariables() throws Exception {
+        //when
+        when(studentService.searchStudent(new String[0], StudentSearchSort.RELEVANCE, null, StudentService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new StudentSearchPageResponseDTO(List.of(), null, false));
 
-        //when, then
+        //then
         mockMvc.perform(MockMvcRequestBuilders.get("/users/search?keywords="))
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON));
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(false));
+        verify(studentService, never()).getAllStudents();
+    }
+
+    @Test
+    @DisplayName("Student Search - Cursor")
+    public void Should_SearchPassDecodedCursor_When_GivenSortAndCursor() throws Exception {
+        //given
+        StudentSearchCursor cursor = StudentSearchCursor.after(StudentSearchSort.LAST_NAME,
+                StudentSearchHit.unscored(new StudentResponseDTO(5L, "Anuki", "Alwis", null, "Colombo", 0L)));
+
+        //when
+        when(studentService.searchStudent(any(), eq(StudentSearchSort.LAST_NAME), any(), eq(10)))
+                .thenReturn(new StudentSearchPageResponseDTO(List.of(), null, false));
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/search?keywords=colombo&sort=lastName&size=10&after={after}", cursor.encode()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        verify(studentService).searchStudent(eq(new String[]{"colombo"}), eq(StudentSearchSort.LAST_NAME),
+                argThat(after -> after.getId() == 5L && after.getLastName().equals("Alwis")), eq(10));
+    }
+
+    @Test
+    @DisplayName("Student Search - Fail Case 2")
+    public void Should_SearchReturnStatus400_When_CursorBelongsToAnotherSort() throws Exception {
+        //given
+        String cursor = StudentSearchCursor.after(StudentSearchSort.ID,
+                StudentSearchHit.unscored(new StudentResponseDTO(5L, "Anuki", "Alwis", null, "Colombo", 0L))).encode();
+
+        //when, then
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/search?keywords=colombo&sort=relevance&after={after}", cursor))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/search?keywords=colombo&sort=firstName"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    @DisplayName("Student Suggest - Happy Path")
+    public void Should_SuggestReturnStudents_When_GivenPrefix() throws Exception {
+        //when
+        when(studentService.suggestStudents("an", StudentService.DEFAULT_SUGGESTION_LIMIT))
+                .thenReturn(List.of(new StudentSuggestionDTO(1L, "Anuki", "Alwis")));
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/suggest?prefix={prefix}", "an"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].lastName").value("Alwis"));
+    }
+
+
+    @Test
+    public void Should_ReturnSmilePage_When_AcceptIsSmile() throws Exception {
+        //given
+        when(studentService.getStudentPage(null, StudentService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new StudentPageResponseDTO(List.of(new StudentResponseDTO(1L, "Anna", "Johns", new Date(957484800000L), "Colombo", 0L)), 1L, true));
+
+        //when
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        //then
+        StudentPageResponseDTO page = new SmileMapper().readValue(result.getResponse().getContentAsByteArray(), StudentPageResponseDTO.class);
+        assertEquals("Anna", page.getContent().get(0).getFirstName());
+        assertEquals(957484800000L, page.getContent().get(0).getDateOfBirth().getTime());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    public void Should_ReturnCborStudent_When_AcceptIsCbor() throws Exception {
+        //given
+        when(studentService.getStudentById(1L)).thenReturn(new StudentResponseDTO(1L, "Anna", "Johns", new Date(957484800000L), "Colombo", 0L));
+
+        //when
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/users/1")
+                        .accept("application/cbor"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/cbor"))
+                .andReturn();
+
+        //then
+        StudentResponseDTO student = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), StudentResponseDTO.class);
+        assertEquals(new StudentResponseDTO(1L, "Anna", "Johns", new Date(957484800000L), "Colombo", 0L), student);
+    }
+
+    @Test
+    public void Should_ReturnProtobufSearchPage_When_AcceptIsProtobuf() throws Exception {
+        //given
+        when(studentService.searchStudent(any(), eq(StudentSearchSort.RELEVANCE), any(), eq(StudentService.DEFAULT_PAGE_SIZE)))
+                .thenReturn(new StudentSearchPageResponseDTO(List.of(
+                        new StudentResponseDTO(1L, "Anna", "Johns", new Date(957484800000L), "Colombo", 0L),
+                        new StudentResponseDTO(2L, "Bob", "Ronald", null, "Galle", 0L)), null, false));
+
+        //when
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/users/search?keywords=a")
+                        .accept("application/x-protobuf"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-protobuf"))
+                .andReturn();
+
+        //then
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        protobufMapper.addMixIn(StudentResponseDTO.class, BeanSerialization.class);
+        StudentSearchPageResponseDTO page = protobufMapper.readerFor(StudentSearchPageResponseDTO.class)
+                .with(protobufMapper.generateSchemaFor(StudentSearchPageResponseDTO.class))
+                .readValue(result.getResponse().getContentAsByteArray());
+        assertEquals(2, page.getContent().size());
+        assertEquals(957484800000L, page.getContent().get(0).getDateOfBirth().getTime());
+        assertNull(page.getContent().get(1).getDateOfBirth());
+        assertNull(page.getNextCursor());
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    public void Should_ReturnJson_When_AcceptPrefersJsonOverBinaryFormats() throws Exception {
+        //given
+        when(studentService.getStudentById(1L)).thenReturn(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L));
+
+        //when, then
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/1")
+                        .header("Accept", "application/json, application/x-protobuf;q=0.5, */*;q=0.1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").value("Anna"));
+    }
+
+    @Test
+    public void Should_GetByIdReturnVersionETag_When_GivenExistingId() throws Exception {
+        //given
+        when(studentService.getStudentById(1L)).thenReturn(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 3L));
+
+        //when, then
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"1-3\""))
+                .andExpect(MockMvcResultMatchers.header().string("Vary", "Accept"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    public void Should_GetByIdReturnStatus304_When_IfNoneMatchIsCurrentVersion() throws Exception {
+        //given
+        when(studentService.getStudentById(1L)).thenReturn(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 3L));
+
+        //when, then
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/1")
+                        .header("If-None-Match", "W/\"1-3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"1-3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/1")
+                        .header("If-None-Match", "W/\"1-2\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").value("Anna"));
+    }
+
+    @Test
+    public void Should_GetAllChangeETag_When_StudentVersionChanges() throws Exception {
+        //given
+        when(studentService.getStudentPage(null, StudentService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new StudentPageResponseDTO(List.of(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L)), 1L, true));
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/users"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when, then
+        mockMvc.perform(MockMvcRequestBuilders.get("/users").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        when(studentService.getStudentPage(null, StudentService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new StudentPageResponseDTO(List.of(new StudentResponseDTO(1L, "Anna", "Johns", null, "Kandy", 1L)), 1L, true));
+        mockMvc.perform(MockMvcRequestBuilders.get("/users").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].address").value("Kandy"));
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private static abstract class BeanSerialization {
     }
-}
\ No newline at end of file
+}
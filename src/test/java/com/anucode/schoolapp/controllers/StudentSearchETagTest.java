@@ -0,0 +1,81 @@
+package com.anucode.schoolapp.controllers;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.models.Student;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import com.anucode.schoolapp.search.LikeStudentSearchIndex;
+import com.anucode.schoolapp.search.StudentSearchHit;
+import com.anucode.schoolapp.search.StudentSearchSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Search ETags built from what the LIKE backend reads from the database: every change to a matching
+ * student has to reach the version the backend projects, or clients would keep getting 304s.
+ */
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "schoolapp.search.backend=like"})
+@Import(LikeStudentSearchIndex.class)
+class StudentSearchETagTest {
+
+    @Autowired
+    private LikeStudentSearchIndex likeStudentSearchIndex;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Student student;
+
+    @BeforeEach
+    public void setUp() {
+        student = entityManager.persistFlushFind(new Student("Helena", "Wonka", null, "Colombo"));
+        entityManager.clear();
+    }
+
+    @Test
+    public void Should_ChangeSearchETag_When_MatchingStudentIsUpdated() {
+        //given
+        String eTag = searchETag();
+
+        //when
+        Student loaded = entityManager.find(Student.class, student.getId());
+        loaded.setAddress("Kandy");
+        entityManager.flush();
+        entityManager.clear();
+
+        //then
+        assertNotEquals(eTag, searchETag());
+    }
+
+    @Test
+    public void Should_ChangeSearchETag_When_MatchingStudentIsBulkUpdated() {
+        //given
+        String eTag = searchETag();
+
+        //when
+        studentRepository.bulkUpdateAddressAndDateOfBirth(List.of(student.getId()), "Kandy", null);
+
+        //then
+        assertNotEquals(eTag, searchETag());
+    }
+
+    private String searchETag() {
+        List<StudentResponseDTO> students = likeStudentSearchIndex.search(new String[]{"Helena"}, StudentSearchSort.ID, null, 10)
+                .stream()
+                .map(StudentSearchHit::getStudent)
+                .toList();
+        assertEquals(List.of(student.getId()), students.stream().map(StudentResponseDTO::getId).toList());
+        assertNotNull(students.get(0).getVersion());
+        return StudentETags.of(students, null, false);
+    }
+}
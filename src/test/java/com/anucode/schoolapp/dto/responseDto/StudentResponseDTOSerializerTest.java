@@ -0,0 +1,62 @@
+package com.anucode.schoolapp.dto.responseDto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StudentResponseDTOSerializerTest {
+
+    /** Switches StudentResponseDTO back to Jackson's reflective BeanSerializer. */
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private static abstract class ReflectiveSerialization {
+    }
+
+    private static final List<StudentResponseDTO> STUDENTS = List.of(
+            new StudentResponseDTO(1L, "Anna", "Johns", new Date(957484800000L), "Galle Road, \"Colombo\"", 0L),
+            new StudentResponseDTO(2L, "Bob", "Ronald", Timestamp.valueOf("2000-01-10 18:00:00"), "Galle", 0L),
+            new StudentResponseDTO(null, null, null, null, null, 0L));
+
+    @Test
+    public void Should_WriteSameJsonAsReflectiveSerializer_When_UsingDefaultObjectMapper() throws Exception {
+        assertSameJson(Jackson2ObjectMapperBuilder.json());
+    }
+
+    @Test
+    public void Should_WriteSameJsonAsReflectiveSerializer_When_TimeZoneIsConfigured() throws Exception {
+        assertSameJson(Jackson2ObjectMapperBuilder.json().timeZone(TimeZone.getTimeZone("Asia/Colombo")));
+    }
+
+    @Test
+    public void Should_WriteSameJsonAsReflectiveSerializer_When_DateFormatIsConfigured() throws Exception {
+        assertSameJson(Jackson2ObjectMapperBuilder.json().dateFormat(new SimpleDateFormat("yyyy/MM/dd")));
+    }
+
+    @Test
+    public void Should_WriteSameJsonAsReflectiveSerializer_When_DatesAreWrittenAsTimestamps() throws Exception {
+        assertSameJson(Jackson2ObjectMapperBuilder.json().featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
+    private static void assertSameJson(Jackson2ObjectMapperBuilder builder) throws Exception {
+        //given
+        ObjectMapper handWritten = builder.build();
+        ObjectMapper reflective = builder.mixIn(StudentResponseDTO.class, ReflectiveSerialization.class).build();
+
+        //when
+        String expected = reflective.writeValueAsString(STUDENTS);
+        String actual = handWritten.writeValueAsString(STUDENTS);
+
+        //then
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,114 @@
+package com.anucode.schoolapp.metrics;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountingDataSourceTest {
+
+    private QueryCountingDataSource dataSource;
+    private Connection keepAlive;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query-counting");
+        keepAlive = h2.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("create table tbl_student (id bigint primary key, first_name varchar(255))");
+        }
+        dataSource = new QueryCountingDataSource(h2);
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    public void Should_CountStatementsAndRows_When_InsertingAndReading() {
+        //when
+        QueryStats stats = QueryStats.measure(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement insert = connection.prepareStatement("insert into tbl_student values (?, ?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, "Anna" + id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                try (PreparedStatement select = connection.prepareStatement("select * from tbl_student");
+                     ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        assertNotNull(resultSet.getString("first_name"));
+                    }
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        //then
+        assertEquals(2, stats.getStatements());
+        assertEquals(6, stats.getRows());
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    public void Should_ReportMostRepeatedSelect_When_SameQueryRunsPerRow() {
+        //when
+        QueryStats stats = QueryStats.measure(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                for (long id = 1; id <= 5; id++) {
+                    try (PreparedStatement select = connection.prepareStatement("select * from tbl_student where id = ?")) {
+                        select.setLong(1, id);
+                        select.executeQuery().close();
+                    }
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        //then
+        assertEquals(5, stats.getMostRepeatedSelectCount());
+        assertEquals("select * from tbl_student where id = ?", stats.getMostRepeatedSelect());
+    }
+
+    @Test
+    public void Should_CountTowardsOuterScope_When_ScopesNest() throws SQLException {
+        //given
+        QueryStats outer = QueryStats.begin();
+
+        //when
+        QueryStats inner;
+        try (Connection connection = dataSource.getConnection()) {
+            inner = QueryStats.measure(() -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("insert into tbl_student values (1, 'Anna')");
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("delete from tbl_student");
+            }
+        } finally {
+            outer.end();
+        }
+
+        //then
+        assertEquals(1, inner.getStatements());
+        assertEquals(2, outer.getStatements());
+        assertEquals(1, outer.getRows());
+    }
+}
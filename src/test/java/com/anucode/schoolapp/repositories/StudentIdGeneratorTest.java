@@ -0,0 +1,54 @@
+package com.anucode.schoolapp.repositories;
+
+import com.anucode.schoolapp.metrics.QueryCountingDataSourcePostProcessor;
+import com.anucode.schoolapp.metrics.QueryStats;
+import com.anucode.schoolapp.models.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ids are reserved from student_seq in blocks of the configured increment and assigned in order.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.schoolapp.students.id-increment-size=10")
+@Import(QueryCountingDataSourcePostProcessor.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentIdGeneratorTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @AfterEach
+    public void tearDown() {
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void Should_CallSequenceOncePerBlock_When_SavingManyStudents() {
+        //given
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            students.add(new Student("First" + i, "Last" + i, new Date(0), "Colombo"));
+        }
+
+        //when
+        QueryStats stats = QueryStats.measure(() -> studentRepository.saveAll(students));
+
+        //then
+        assertEquals(3, stats.getMostRepeatedSelectCount(), stats.getMostRepeatedSelect());
+        long firstId = students.get(0).getId();
+        for (int i = 0; i < students.size(); i++) {
+            assertEquals(firstId + i, students.get(i).getId());
+        }
+    }
+}
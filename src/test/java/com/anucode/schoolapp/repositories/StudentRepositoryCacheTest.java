@@ -0,0 +1,106 @@
+package com.anucode.schoolapp.repositories;
+
+import com.anucode.schoolapp.models.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against an embedded database without a wrapping test transaction, so every repository
+ * call commits and the second-level cache sees the same lifecycle as in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentRepositoryCacheTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Student student;
+
+    @BeforeEach
+    public void setUp() throws ParseException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        student = studentRepository.save(new Student("Helena", "Wonka", dateFormat.parse("2000-05-05"), "Colombo"));
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    public void Should_ServeSecondFindByIdFromCache_When_StudentAlreadyLoaded() {
+        //when
+        studentRepository.findById(student.getId());
+        studentRepository.findById(student.getId());
+
+        //then
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("student").getHitCount());
+    }
+
+    @Test
+    public void Should_ReloadStudent_When_StudentUpdated() {
+        //given
+        studentRepository.findById(student.getId());
+        student.setAddress("Kandy");
+        studentRepository.save(student);
+
+        //when
+        Student reloaded = studentRepository.findById(student.getId()).orElseThrow();
+
+        //then
+        assertEquals("Kandy", reloaded.getAddress());
+    }
+
+    @Test
+    public void Should_ServeRepeatedNameLookupFromQueryCache_When_TableUnchanged() {
+        //when
+        List<Student> first = studentRepository.findByFirstNameAndLastName("Helena", "Wonka");
+        List<Student> second = studentRepository.findByFirstNameAndLastName("Helena", "Wonka");
+
+        //then
+        assertEquals(1, first.size());
+        assertEquals(first, second);
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    public void Should_RunNameLookupAgain_When_StudentDeletedAfterCaching() {
+        //given
+        studentRepository.findByFirstNameAndLastName("Helena", "Wonka");
+        studentRepository.deleteById(student.getId());
+
+        //when
+        List<Student> result = studentRepository.findByFirstNameAndLastName("Helena", "Wonka");
+
+        //then
+        assertTrue(result.isEmpty());
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+}
@@ -0,0 +1,164 @@
+package com.anucode.schoolapp.repositories;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every StudentRepository query against the migrated schema and checks the SQL Hibernate
+ * generates with EXPLAIN: no query may scan the whole table, and no ordered query may sort rows
+ * the index cannot return in order. H2's planner stands in for MySQL's here. It takes an index
+ * whenever a usable condition or order exists, so a plan without one means a missing index or a
+ * predicate no index can serve.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+class StudentRepositoryExplainTest {
+
+    /** Queries that read every student on purpose. */
+    private static final Set<String> FULL_READS = Set.of("findAll", "findAllResponses", "streamAllNames");
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        public StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+        }
+    }
+
+    static class StatementCapture implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Map<String, Consumer<StudentRepository>> queries() {
+        Map<String, Consumer<StudentRepository>> queries = new LinkedHashMap<>();
+        queries.put("findByFirstNameAndLastName", repository -> repository.findByFirstNameAndLastName("Anuki", "Alwis"));
+        queries.put("findByFirstNameInAndLastNameIn", repository ->
+                repository.findByFirstNameInAndLastNameIn(List.of("Anuki", "Kamal"), List.of("Alwis", "Perera")));
+        queries.put("findExistingIds", repository -> repository.findExistingIds(List.of(1L, 2L)));
+        queries.put("bulkUpdateAddressAndDateOfBirth", repository ->
+                repository.bulkUpdateAddressAndDateOfBirth(List.of(1L, 2L), "Colombo", new Date(0)));
+        queries.put("bulkDeleteByIds", repository -> repository.bulkDeleteByIds(List.of(1L, 2L)));
+        queries.put("findByIdGreaterThanOrderByIdAsc", repository -> repository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(20)));
+        queries.put("findResponseById", repository -> repository.findResponseById(1L));
+        queries.put("findResponsesByIdGreaterThan", repository -> repository.findResponsesByIdGreaterThan(10L, Limit.of(20)));
+        queries.put("findResponsesOrderByLastName", repository -> repository.findResponsesOrderByLastName(Limit.of(20)));
+        queries.put("findResponsesByLastNameAfter", repository -> repository.findResponsesByLastNameAfter("Alwis", 10L, Limit.of(20)));
+        queries.put("streamResponsesByIdGreaterThan", repository -> {
+            try (Stream<?> students = repository.streamResponsesByIdGreaterThan(10L)) {
+                students.forEach(student -> { });
+            }
+        });
+        queries.put("streamByIdGreaterThanOrderByIdAsc", repository -> {
+            try (Stream<?> students = repository.streamByIdGreaterThanOrderByIdAsc(10L)) {
+                students.forEach(student -> { });
+            }
+        });
+        return queries;
+    }
+
+    @Test
+    public void Should_ExplainEveryQuery_When_QueryIsDeclaredOnRepository() {
+        //given
+        Set<String> declared = new TreeSet<>();
+        for (Method method : StudentRepository.class.getDeclaredMethods()) {
+            if (!method.isDefault() && !Modifier.isStatic(method.getModifiers())) {
+                declared.add(method.getName());
+            }
+        }
+
+        //when
+        declared.removeAll(queries().keySet());
+        declared.removeAll(FULL_READS);
+
+        //then
+        assertEquals(Set.of(), declared, "add new repository queries to queries() so their plans are checked");
+    }
+
+    @Test
+    public void Should_UseIndexWithoutSorting_When_RunningRepositoryQueries() throws Exception {
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, Consumer<StudentRepository>> query : queries().entrySet()) {
+            //given
+            statementCapture.statements.clear();
+
+            //when
+            query.getValue().accept(studentRepository);
+
+            //then
+            assertFalse(statementCapture.statements.isEmpty(), query.getKey() + " ran no SQL");
+            for (String sql : statementCapture.statements) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan")) {
+                    problems.add(query.getKey() + " scans the table: " + plan);
+                }
+                if (plan.contains(" ORDER BY ") && !plan.contains("/* index sorted */")) {
+                    problems.add(query.getKey() + " sorts rows the index cannot return in order: " + plan);
+                }
+            }
+        }
+        assertEquals(List.of(), problems);
+    }
+
+    // parameters are left null: H2 picks the plan from the statement's shape, not the values
+    private String explain(String sql) {
+        return new JdbcTemplate(dataSource).execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1).replaceAll("\\s+", " ");
+                }
+            }
+        });
+    }
+}
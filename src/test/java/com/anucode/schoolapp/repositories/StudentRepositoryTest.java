@@ -177,6 +177,20 @@ class StudentRepositoryTest {
 
     }
 
+    @Test
+    public void Should_IncrementVersion_When_BulkUpdatingStudents() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        Student student = entityManager.persistFlushFind(new Student("Helena", "Wonka", dateFormat.parse("2000-05-05"), "Colombo"));
+        long version = student.getVersion();
 
+        //when
+        studentRepository.bulkUpdateAddressAndDateOfBirth(List.of(student.getId()), "Kandy", null);
+
+        //then
+        Student updated = studentRepository.findById(student.getId()).orElseThrow();
+        assertEquals("Kandy", updated.getAddress());
+        assertEquals(version + 1, updated.getVersion());
+    }
 
 }
\ No newline at end of file
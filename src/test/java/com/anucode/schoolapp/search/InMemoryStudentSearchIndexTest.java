@@ -0,0 +1,88 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryStudentSearchIndexTest {
+
+    private InMemoryStudentSearchIndex underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new InMemoryStudentSearchIndex();
+        underTest.index(new StudentResponseDTO(1L, "Anuki", "Alwis", null, "Colombo", 0L));
+        underTest.index(new StudentResponseDTO(2L, "Kamal", "Perera", null, "Anuradhapura", 0L));
+        underTest.index(new StudentResponseDTO(3L, "Nimal", "Silva", null, "Galle Road, Colombo", 0L));
+    }
+
+    @Test
+    public void Should_RankNameMatchesAboveAddressMatches_When_GivenPrefixKeyword() {
+        //when
+        List<StudentSearchHit> actualOutput = underTest.search(new String[]{"anu"}, StudentSearchSort.RELEVANCE, null, 10);
+
+        //then
+        assertEquals(List.of(1L, 2L), ids(actualOutput));
+    }
+
+    @Test
+    public void Should_RequireEveryKeyword_When_GivenMultipleKeywords() {
+        //when
+        List<StudentSearchHit> actualOutput = underTest.search(new String[]{"colombo", "NIMAL"}, StudentSearchSort.RELEVANCE, null, 10);
+
+        //then
+        assertEquals(List.of(3L), ids(actualOutput));
+    }
+
+    @Test
+    public void Should_ReturnNextPage_When_GivenCursorOfPreviousPage() {
+        //when
+        List<StudentSearchHit> firstPage = underTest.search(new String[]{"colombo"}, StudentSearchSort.RELEVANCE, null, 1);
+        StudentSearchCursor cursor = StudentSearchCursor.decode(
+                StudentSearchCursor.after(StudentSearchSort.RELEVANCE, firstPage.get(0)).encode(), StudentSearchSort.RELEVANCE);
+        List<StudentSearchHit> secondPage = underTest.search(new String[]{"colombo"}, StudentSearchSort.RELEVANCE, cursor, 1);
+
+        //then
+        assertEquals(1, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertNotEquals(firstPage.get(0).getStudent().getId(), secondPage.get(0).getStudent().getId());
+        assertTrue(secondPage.get(0).getScore() <= firstPage.get(0).getScore());
+    }
+
+    @Test
+    public void Should_OrderByLastNameThenId_When_SortedByLastName() {
+        //given
+        underTest.index(new StudentResponseDTO(4L, "Amal", "alwis", null, "Colombo", 0L));
+
+        //when
+        List<StudentSearchHit> firstPage = underTest.search(new String[]{"colombo"}, StudentSearchSort.LAST_NAME, null, 2);
+        List<StudentSearchHit> secondPage = underTest.search(new String[]{"colombo"}, StudentSearchSort.LAST_NAME,
+                StudentSearchCursor.after(StudentSearchSort.LAST_NAME, firstPage.get(1)), 2);
+
+        //then
+        assertEquals(List.of(1L, 4L), ids(firstPage));
+        assertEquals(List.of(3L), ids(secondPage));
+    }
+
+    @Test
+    public void Should_FollowSavesAndDeletes_When_StudentChangedEventReceived() {
+        //when
+        underTest.onStudentChanged(StudentChangedEvent.saved(List.of(new StudentResponseDTO(1L, "Anuki", "Fernando", null, "Kandy", 0L))));
+        underTest.onStudentChanged(StudentChangedEvent.deleted(List.of(3L)));
+
+        //then
+        assertTrue(underTest.search(new String[]{"alwis"}, StudentSearchSort.ID, null, 10).isEmpty());
+        assertEquals(1, underTest.search(new String[]{"fernando"}, StudentSearchSort.ID, null, 10).size());
+        assertTrue(underTest.search(new String[]{"nimal"}, StudentSearchSort.ID, null, 10).isEmpty());
+        assertEquals(2, underTest.size());
+    }
+
+    private static List<Long> ids(List<StudentSearchHit> hits) {
+        return hits.stream().map(hit -> hit.getStudent().getId()).toList();
+    }
+}
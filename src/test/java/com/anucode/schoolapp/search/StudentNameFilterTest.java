@@ -0,0 +1,74 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentNameFilterTest {
+
+    private StudentNameFilter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new StudentNameFilter();
+        underTest.put("Anuki", "Alwis");
+        underTest.put("Kamal", "Perera");
+    }
+
+    @Test
+    public void Should_ReportPossibleDuplicate_When_FilterNotLoadedYet() {
+        //when, then
+        assertTrue(underTest.mightContain("Nimal", "Silva"));
+    }
+
+    @Test
+    public void Should_MatchIgnoringCaseAccentsAndTrailingSpaces_When_NameAlreadyAdded() {
+        //given
+        underTest.markLoaded();
+
+        //when, then
+        assertTrue(underTest.mightContain("Anuki", "Alwis"));
+        assertTrue(underTest.mightContain("ANUKI", "alwis "));
+        assertTrue(underTest.mightContain("Kámal", "Perera"));
+        assertFalse(underTest.mightContain("Anuki", "Perera"));
+    }
+
+    @Test
+    public void Should_NeverMissAnAddedName_When_FilterGrowsPastInitialCapacity() {
+        //given
+        for (int i = 0; i < 200_000; i++) {
+            underTest.put("First" + i, "Last" + i);
+        }
+        underTest.markLoaded();
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 200_000; i++) {
+            assertTrue(underTest.mightContain("First" + i, "Last" + i));
+            if (underTest.mightContain("Other" + i, "Last" + i)) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        assertEquals(200_002, underTest.size());
+        assertTrue(falsePositives < 200_000 * 0.05, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void Should_AddSavedNames_When_StudentSavedEventReceived() {
+        //given
+        underTest.markLoaded();
+
+        //when
+        underTest.onStudentChanged(StudentChangedEvent.saved(List.of(new StudentResponseDTO(3L, "Nimal", "Silva", null, "Galle", 0L))));
+
+        //then
+        assertTrue(underTest.mightContain("Nimal", "Silva"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.anucode.schoolapp.search;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSuggestionDTO;
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentTrigramIndexTest {
+
+    private StudentTrigramIndex underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new StudentTrigramIndex();
+        underTest.add(1L, "Anuki", "Alwis", "Colombo");
+        underTest.add(2L, "Kamal", "Perera", "Anuradhapura");
+        underTest.add(3L, "Anna", "Johns", "Galle Road, Colombo");
+    }
+
+    @Test
+    public void Should_ReturnNameMatchesBeforeAddressMatches_When_GivenPrefix() {
+        //when
+        List<StudentSuggestionDTO> actualOutput = underTest.suggest("AN", 10);
+
+        //then
+        assertEquals(List.of(1L, 3L, 2L), ids(actualOutput));
+        assertEquals("Anuki", actualOutput.get(0).getFirstName());
+    }
+
+    @Test
+    public void Should_MatchOnlyWordStarts_When_GivenPrefix() {
+        //when, then
+        assertEquals(List.of(2L), ids(underTest.suggest("per", 10)));
+        assertTrue(underTest.suggest("erera", 10).isEmpty());
+        assertEquals(List.of(1L, 3L, 2L), ids(underTest.suggest("a", 10)));
+    }
+
+    @Test
+    public void Should_MatchConsecutiveWords_When_GivenMultiWordPrefix() {
+        //when, then
+        assertEquals(List.of(3L), ids(underTest.suggest("anna jo", 10)));
+        assertEquals(List.of(3L), ids(underTest.suggest("galle road co", 10)));
+        assertTrue(underTest.suggest("anna al", 10).isEmpty());
+    }
+
+    @Test
+    public void Should_StopAtLimit_When_MoreMatchesThanLimit() {
+        //when
+        List<StudentSuggestionDTO> actualOutput = underTest.suggest("an", 1);
+
+        //then
+        assertEquals(List.of(1L), ids(actualOutput));
+    }
+
+    @Test
+    public void Should_FollowSavesAndDeletes_When_StudentChangedEventReceived() {
+        //when
+        underTest.onStudentChanged(StudentChangedEvent.saved(List.of(new StudentResponseDTO(1L, "Bimal", "Alwis", null, "Kandy", 0L))));
+        underTest.onStudentChanged(StudentChangedEvent.deleted(List.of(3L)));
+
+        //then
+        assertEquals(List.of(2L), ids(underTest.suggest("an", 10)));
+        assertEquals(List.of(1L), ids(underTest.suggest("bim", 10)));
+        assertEquals(2, underTest.size());
+    }
+
+    @Test
+    public void Should_KeepAnsweringCorrectly_When_IndexCompactsAfterManyUpdates() {
+        //when
+        for (int i = 0; i < 5000; i++) {
+            underTest.add(10L + (i % 3), "Student" + i, "Batch", "Matara");
+        }
+
+        //then
+        assertEquals(6, underTest.size());
+        assertEquals(List.of(10L, 11L, 12L), ids(underTest.suggest("batch", 10)).stream().sorted().toList());
+        assertEquals(List.of(11L), ids(underTest.suggest("student4999", 10)));
+        assertTrue(underTest.suggest("student4996", 10).isEmpty());
+    }
+
+    @Test
+    public void Should_ReturnSameMatchesAsFullScan_When_PostingListsOverlapSparsely() {
+        //given
+        String[] syllables = {"a", "an", "ka", "na", "ra", "ni"};
+        Random random = new Random(7);
+        StudentTrigramIndex index = new StudentTrigramIndex();
+        Map<Long, String> names = new HashMap<>();
+        for (long id = 100; id < 20_100; id++) {
+            String firstName = syllables[random.nextInt(6)] + syllables[random.nextInt(6)];
+            String lastName = syllables[random.nextInt(6)] + syllables[random.nextInt(6)] + syllables[random.nextInt(6)];
+            index.add(id, firstName, lastName, null);
+            names.put(id, " " + firstName + " " + lastName);
+        }
+
+        for (String prefix : List.of("ana ra", "kana", "ni ka", "rara", "an")) {
+            //when
+            List<Long> actualOutput = ids(index.suggest(prefix, 50)).stream().sorted().toList();
+
+            //then
+            List<Long> expected = names.entrySet().stream()
+                    .filter(entry -> entry.getValue().contains(" " + prefix))
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .limit(50)
+                    .toList();
+            assertEquals(expected, actualOutput, prefix);
+        }
+    }
+
+    private static List<Long> ids(List<StudentSuggestionDTO> suggestions) {
+        return suggestions.stream().map(StudentSuggestionDTO::getId).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.anucode.schoolapp.services;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
+import com.anucode.schoolapp.search.StudentSearchCursor;
+import com.anucode.schoolapp.search.StudentSearchSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reactive read path against an in-memory H2 database through r2dbc-h2.
+ */
+@DataR2dbcTest(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-students;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="})
+@AutoConfigureCache
+@ActiveProfiles("reactive")
+@Import(ReactiveStudentService.class)
+class ReactiveStudentServiceTest {
+
+    @Autowired
+    private ReactiveStudentService underTest;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    public void setUp() {
+        Flux.concat(
+                databaseClient.sql("create table if not exists tbl_student (id bigint primary key, first_name varchar(255), " +
+                        "last_name varchar(255), date_of_birth timestamp(6), address varchar(255), version bigint default 0 not null)").then(),
+                databaseClient.sql("delete from tbl_student").then(),
+                databaseClient.sql("insert into tbl_student values " +
+                        "(1, 'Anuki', 'Alwis', timestamp '2000-05-05 00:00:00', 'Colombo', 0), " +
+                        "(2, 'Kamal', 'Perera', timestamp '1995-11-05 00:00:00', 'Anuradhapura', 0), " +
+                        "(3, 'Anna', 'Johns', timestamp '1998-01-05 00:00:00', 'Galle Road, Colombo', 0)").then()
+        ).blockLast();
+    }
+
+    @Test
+    public void Should_ReturnPageWithNextCursor_When_MoreStudentsThanPageSize() {
+        StepVerifier.create(underTest.getStudentPage(null, 2))
+                .assertNext(page -> {
+                    assertEquals(List.of(1L, 2L), page.getContent().stream().map(StudentResponseDTO::getId).toList());
+                    assertEquals(2L, page.getNextCursor());
+                    assertTrue(page.isHasNext());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void Should_EmitOnlyRequestedStudents_When_SubscriberRequestsInSteps() {
+        StepVerifier.create(underTest.streamStudents(1L), 1)
+                .assertNext(student -> assertEquals("Kamal", student.getFirstName()))
+                .thenRequest(1)
+                .assertNext(student -> assertEquals("Anna", student.getFirstName()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void Should_SignalResourceNotFoundException_When_NoRecordFoundWithGivenId() {
+        StepVerifier.create(underTest.getStudentById(99L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    public void Should_ReturnStudentsMatchingEveryKeyword_When_GivenMultipleKeywords() {
+        StepVerifier.create(underTest.searchStudent(new String[]{"an", "colombo"}, StudentSearchSort.ID, null, 10))
+                .assertNext(page -> {
+                    assertEquals(List.of(1L, 3L), page.getContent().stream().map(StudentResponseDTO::getId).toList());
+                    assertNull(page.getNextCursor());
+                    assertFalse(page.isHasNext());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void Should_PageByLastNameWithCursor_When_GivenNoKeywords() {
+        StepVerifier.create(underTest.searchStudent(new String[0], StudentSearchSort.LAST_NAME, null, 2)
+                        .flatMap(firstPage -> {
+                            assertEquals(List.of(1L, 3L), firstPage.getContent().stream().map(StudentResponseDTO::getId).toList());
+                            assertTrue(firstPage.isHasNext());
+                            StudentSearchCursor cursor = StudentSearchCursor.decode(firstPage.getNextCursor(), StudentSearchSort.LAST_NAME);
+                            return underTest.searchStudent(new String[0], StudentSearchSort.LAST_NAME, cursor, 2);
+                        }))
+                .assertNext(secondPage -> {
+                    assertEquals(List.of(2L), secondPage.getContent().stream().map(StudentResponseDTO::getId).toList());
+                    assertFalse(secondPage.isHasNext());
+                })
+                .verifyComplete();
+    }
+}
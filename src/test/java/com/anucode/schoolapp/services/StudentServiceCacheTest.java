@@ -0,0 +1,116 @@
+package com.anucode.schoolapp.services;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.events.StudentChangedEvent;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import com.anucode.schoolapp.search.StudentNameFilter;
+import com.anucode.schoolapp.search.StudentSearchIndex;
+import com.anucode.schoolapp.search.StudentTrigramIndex;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Exercises the cache proxy around {@link StudentService}, which plain Mockito tests bypass.
+ */
+@SpringBootTest(classes = StudentServiceCacheTest.CacheTestConfig.class)
+class StudentServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @ImportAutoConfiguration(CacheAutoConfiguration.class)
+    @Import({StudentService.class, StudentCacheEvictor.class})
+    static class CacheTestConfig {
+    }
+
+    @MockBean
+    private StudentRepository studentRepository;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private Validator validator;
+
+    @MockBean
+    private StudentSearchIndex studentSearchIndex;
+
+    @MockBean
+    private StudentTrigramIndex studentTrigramIndex;
+
+    @MockBean
+    private StudentNameFilter studentNameFilter;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    public void Should_LoadStudentOnce_When_ConcurrentRequestsMissTheCache() throws Exception {
+        //given
+        when(studentRepository.findResponseById(1L)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(new StudentResponseDTO(1L, "Anu", "Perera", null, "Colombo", 0L));
+        });
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<StudentResponseDTO>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return studentService.getStudentById(1L);
+            }));
+        }
+        start.countDown();
+        for (Future<StudentResponseDTO> result : results) {
+            assertEquals("Anu", result.get().getFirstName());
+        }
+        executor.shutdown();
+
+        //then
+        verify(studentRepository, times(1)).findResponseById(1L);
+    }
+
+    @Test
+    public void Should_ReloadStudent_When_StudentUpdatedEventPublished() {
+        //given
+        when(studentRepository.findResponseById(2L))
+                .thenReturn(Optional.of(new StudentResponseDTO(2L, "Anu", "Perera", null, "Colombo", 0L)))
+                .thenReturn(Optional.of(new StudentResponseDTO(2L, "Anu", "Perera", null, "Kandy", 0L)));
+        studentService.getStudentById(2L);
+        studentService.getStudentById(2L);
+
+        //when
+        eventPublisher.publishEvent(StudentChangedEvent.updated(List.of(2L)));
+        StudentResponseDTO result = studentService.getStudentById(2L);
+
+        //then
+        assertEquals("Kandy", result.getAddress());
+        verify(studentRepository, times(2)).findResponseById(2L);
+    }
+}
@@ -0,0 +1,116 @@
+package com.anucode.schoolapp.services;
+
+import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.exceptions.StudentNameAlreadyExistsException;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the optimistic create path against an embedded database: duplicates are rejected by the
+ * UQ_firstName_LastName constraint instead of a lookup, including when requests race each other.
+ */
+@SpringBootTest(properties = {"schoolapp.search.backend=memory", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase
+class StudentServiceConcurrencyTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Date dateOfBirth;
+
+    @BeforeEach
+    public void setUp() throws ParseException {
+        dateOfBirth = new SimpleDateFormat("yyyy-MM-dd").parse("2000-05-05");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void Should_IssueOneStatementPerCreate_When_SavingNewStudents() {
+        //given
+        int students = 100;
+
+        //when
+        for (int i = 0; i < students; i++) {
+            studentService.saveStudent(new StudentRequestDTO("First" + i, "Last" + i, dateOfBirth, "Colombo"));
+        }
+
+        //then
+        // one INSERT each, plus a sequence call per 50 ids instead of a SELECT per create
+        assertEquals(students, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertTrue(statistics.getPrepareStatementCount() <= students + 3,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void Should_CreateEachNameOnce_When_ConcurrentRequestsUseSameNames() throws InterruptedException {
+        //given
+        int names = 4;
+        int requestsPerName = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(names * requestsPerName);
+        List<Future<Long>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < names * requestsPerName; i++) {
+            StudentRequestDTO request = new StudentRequestDTO("Anna" + (i % names), "Johns", dateOfBirth, "Colombo");
+            results.add(executor.submit(() -> {
+                start.await();
+                return studentService.saveStudent(request);
+            }));
+        }
+        start.countDown();
+        int created = 0;
+        int rejected = 0;
+        for (Future<Long> result : results) {
+            try {
+                assertNotNull(result.get());
+                created++;
+            } catch (ExecutionException ex) {
+                assertInstanceOf(StudentNameAlreadyExistsException.class, ex.getCause());
+                rejected++;
+            }
+        }
+        executor.shutdown();
+
+        //then
+        assertEquals(names, created);
+        assertEquals(names * (requestsPerName - 1), rejected);
+        assertEquals(names, studentRepository.count());
+    }
+}
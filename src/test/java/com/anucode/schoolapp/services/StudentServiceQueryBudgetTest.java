@@ -0,0 +1,83 @@
+package com.anucode.schoolapp.services;
+
+import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.metrics.QueryStats;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets of the service methods, counted at the JDBC level by QueryCountingDataSource.
+ */
+@SpringBootTest(properties = {"schoolapp.search.backend=memory", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase
+class StudentServiceQueryBudgetTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Date dateOfBirth;
+
+    @BeforeEach
+    public void setUp() throws ParseException {
+        dateOfBirth = new SimpleDateFormat("yyyy-MM-dd").parse("2000-05-05");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void Should_UseAtMostTwoStatements_When_SavingStudent() {
+        //when
+        QueryStats stats = QueryStats.measure(() ->
+                studentService.saveStudent(new StudentRequestDTO("Anna", "Johns", dateOfBirth, "Colombo")));
+
+        //then
+        // the INSERT, plus a sequence call when the pooled id block is used up
+        assertTrue(stats.getStatements() <= 2, stats.toString());
+    }
+
+    @Test
+    public void Should_UseOneStatementThenNone_When_GettingSameStudentTwice() {
+        //given
+        Long id = studentService.saveStudent(new StudentRequestDTO("Kamal", "Perera", dateOfBirth, "Galle"));
+
+        //when
+        QueryStats first = QueryStats.measure(() -> studentService.getStudentById(id));
+        QueryStats second = QueryStats.measure(() -> studentService.getStudentById(id));
+
+        //then
+        assertTrue(first.getStatements() <= 1, first.toString());
+        assertEquals(0, second.getStatements());
+    }
+
+    @Test
+    public void Should_NotRepeatSelects_When_ReadingAPage() {
+        //given
+        for (int i = 0; i < 30; i++) {
+            studentService.saveStudent(new StudentRequestDTO("First" + i, "Last" + i, dateOfBirth, "Colombo"));
+        }
+
+        //when
+        QueryStats stats = QueryStats.measure(() -> studentService.getStudentPage(null, 20));
+
+        //then
+        assertEquals(1, stats.getStatements(), stats.toString());
+        assertEquals(21, stats.getRows());
+    }
+}
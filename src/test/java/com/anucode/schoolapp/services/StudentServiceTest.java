@@ -1,28 +1,52 @@
 package com.anucode.schoolapp.services;
 
+import com.anucode.schoolapp.dto.requestDto.StudentBulkUpdateRequestDTO;
 import com.anucode.schoolapp.dto.requestDto.StudentRequestDTO;
+import com.anucode.schoolapp.dto.projections.StudentNameView;
+import com.anucode.schoolapp.dto.responseDto.BatchItemStatus;
+import com.anucode.schoolapp.dto.responseDto.StudentBatchResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentPageResponseDTO;
 import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.dto.responseDto.StudentSearchPageResponseDTO;
+import com.anucode.schoolapp.exceptions.BatchSizeExceededException;
 import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
 import com.anucode.schoolapp.exceptions.StudentIdInvalidException;
 import com.anucode.schoolapp.exceptions.StudentNameAlreadyExistsException;
 import com.anucode.schoolapp.models.Student;
+import com.anucode.schoolapp.events.StudentChangedEvent;
 import com.anucode.schoolapp.repositories.StudentRepository;
+import com.anucode.schoolapp.search.StudentNameFilter;
+import com.anucode.schoolapp.search.StudentSearchCursor;
+import com.anucode.schoolapp.search.StudentSearchHit;
+import com.anucode.schoolapp.search.StudentSearchIndex;
+import com.anucode.schoolapp.search.StudentSearchSort;
+import com.anucode.schoolapp.search.StudentTrigramIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.jpa.domain.Specification;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +55,24 @@ class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private StudentSearchIndex studentSearchIndex;
+
+    @Mock
+    private StudentTrigramIndex studentTrigramIndex;
+
+    @Mock
+    private StudentNameFilter studentNameFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private StudentService underTest;
 
@@ -39,19 +81,16 @@ class StudentServiceTest {
     public void Should_ReturnListOfStudentResponseDTO_When_GetAllStudents() throws ParseException {
         //given
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        List<Student> studentList = new ArrayList<Student>();
-        studentList.add(new Student(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo"));
-        studentList.add(new Student(2L,"Bob", "Ronald", dateFormat.parse("1995-11-05"),"Galle"));
         List<StudentResponseDTO> studentResponseDTOList = new ArrayList<StudentResponseDTO>();
-        studentResponseDTOList.add(new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo"));
-        studentResponseDTOList.add(new StudentResponseDTO(2L,"Bob", "Ronald", dateFormat.parse("1995-11-05"),"Galle"));
+        studentResponseDTOList.add(new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo", 0L));
+        studentResponseDTOList.add(new StudentResponseDTO(2L,"Bob", "Ronald", dateFormat.parse("1995-11-05"),"Galle", 0L));
 
         //when
-        when(studentRepository.findAll()).thenReturn(studentList);
+        when(studentRepository.findAllResponses()).thenReturn(studentResponseDTOList);
         List<StudentResponseDTO> actualOutput = underTest.getAllStudents();
 
         //then
-        verify(studentRepository, Mockito.times(1)).findAll();
+        verify(studentRepository, Mockito.times(1)).findAllResponses();
         assertEquals(studentResponseDTOList.size(), actualOutput.size());
         assertEquals(studentResponseDTOList, actualOutput);
     }
@@ -59,27 +98,75 @@ class StudentServiceTest {
     @Test
     public void Should_ReturnEmptyList_When_NoResultsReturned(){
         //when
-        when(studentRepository.findAll()).thenReturn(Collections.emptyList());
+        when(studentRepository.findAllResponses()).thenReturn(Collections.emptyList());
         List<StudentResponseDTO> actualOutput = underTest.getAllStudents();
 
         //then
         assertEquals(0, actualOutput.size());
     }
 
+    @Test
+    public void Should_ReturnPageWithNextCursor_When_MoreStudentsThanPageSize() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        List<StudentResponseDTO> studentList = new ArrayList<StudentResponseDTO>();
+        studentList.add(new StudentResponseDTO(11L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo", 0L));
+        studentList.add(new StudentResponseDTO(12L,"Bob", "Ronald", dateFormat.parse("1995-11-05"),"Galle", 0L));
+        studentList.add(new StudentResponseDTO(13L,"Cara", "Silva", dateFormat.parse("1998-01-05"),"Kandy", 0L));
+
+        //when
+        when(studentRepository.findResponsesByIdGreaterThan(10L, Limit.of(3))).thenReturn(studentList);
+        StudentPageResponseDTO actualOutput = underTest.getStudentPage(10L, 2);
+
+        //then
+        assertEquals(2, actualOutput.getContent().size());
+        assertEquals(12L, actualOutput.getNextCursor());
+        assertTrue(actualOutput.isHasNext());
+    }
+
+    @Test
+    public void Should_ClampPageSizeAndStartFromBeginning_When_GivenNoCursorAndOversizedPage(){
+        //when
+        when(studentRepository.findResponsesByIdGreaterThan(0L, Limit.of(StudentService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(Collections.emptyList());
+        StudentPageResponseDTO actualOutput = underTest.getStudentPage(null, 100_000);
+
+        //then
+        assertTrue(actualOutput.getContent().isEmpty());
+        assertNull(actualOutput.getNextCursor());
+        assertFalse(actualOutput.isHasNext());
+    }
+
+    @Test
+    public void Should_StreamEachStudent_When_StreamStudents() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        StudentResponseDTO student1 = new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo", 0L);
+        StudentResponseDTO student2 = new StudentResponseDTO(2L,"Bob", "Ronald", dateFormat.parse("1995-11-05"),"Galle", 0L);
+        List<StudentResponseDTO> streamed = new ArrayList<>();
+
+        //when
+        when(studentRepository.streamResponsesByIdGreaterThan(0L)).thenReturn(Stream.of(student1, student2));
+        underTest.streamStudents(null, streamed::add);
+
+        //then
+        assertEquals(2, streamed.size());
+        assertEquals(2L, streamed.get(1).getId());
+    }
+
     @Test
     public void Should_ReturnStudentResponseDTO_When_GivenValidId() throws ParseException {
         //given
         Long id = 1L;
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        Student student = new Student(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
-        StudentResponseDTO studentResponseDTO = new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
+        StudentResponseDTO studentResponseDTO = new StudentResponseDTO(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo", 0L);
 
         //when
-        when(studentRepository.findById(id)).thenReturn(Optional.of(student));
+        when(studentRepository.findResponseById(id)).thenReturn(Optional.of(studentResponseDTO));
         StudentResponseDTO actualOutput = underTest.getStudentById(id);
 
         //then
-        verify(studentRepository, Mockito.times(1)).findById(id);
+        verify(studentRepository, Mockito.times(1)).findResponseById(id);
         assertEquals(studentResponseDTO,actualOutput);
     }
 
@@ -89,7 +176,7 @@ class StudentServiceTest {
         Long id = 33L;
 
         //when
-        when(studentRepository.findById(id)).thenThrow(new ResourceNotFoundException("id=" + id + " Student not found!"));
+        when(studentRepository.findResponseById(id)).thenReturn(Optional.empty());
 
         //when, then
         assertThrows(ResourceNotFoundException.class, () -> underTest.getStudentById(id));
@@ -102,7 +189,7 @@ class StudentServiceTest {
         String message = "id=33 Student not found!";
 
         // When
-        when(studentRepository.findById(id)).thenThrow(new ResourceNotFoundException("id=" + id + " Student not found!"));
+        when(studentRepository.findResponseById(id)).thenReturn(Optional.empty());
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> underTest.getStudentById(id));
 
         // Then
@@ -118,10 +205,41 @@ class StudentServiceTest {
         Student studentOutput= new Student(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
 
         //when
-        when(studentRepository.save(studentInput)).thenReturn(studentOutput);
+        when(studentRepository.saveAndFlush(studentInput)).thenReturn(studentOutput);
         Long actualOutput = underTest.saveStudent(studentRequestDTO);
 
         assertEquals(studentOutput.getId(), actualOutput);
+        verify(eventPublisher).publishEvent(any(StudentChangedEvent.class));
+        verify(studentRepository, Mockito.times(0)).findByFirstNameAndLastName(anyString(), anyString());
+    }
+
+    @Test
+    public void Should_ThrowStudentNameAlreadyExistsException_When_InsertViolatesNameConstraint() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        StudentRequestDTO studentRequestDTO = new StudentRequestDTO("Anna", "Johns", dateFormat.parse("1999-05-05"),"Jaffna");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry", null, "tbl_student.UQ_firstName_LastName"));
+
+        //when
+        when(studentRepository.saveAndFlush(any(Student.class))).thenThrow(violation);
+
+        //then
+        assertThrows(StudentNameAlreadyExistsException.class, () -> underTest.saveStudent(studentRequestDTO));
+        verify(eventPublisher, Mockito.times(0)).publishEvent(any());
+    }
+
+    @Test
+    public void Should_RethrowDataIntegrityViolationException_When_InsertViolatesOtherConstraint() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        StudentRequestDTO studentRequestDTO = new StudentRequestDTO("Anna", "Johns", dateFormat.parse("1999-05-05"),"Jaffna");
+
+        //when
+        when(studentRepository.saveAndFlush(any(Student.class))).thenThrow(new DataIntegrityViolationException("value too long"));
+
+        //then
+        assertThrows(DataIntegrityViolationException.class, () -> underTest.saveStudent(studentRequestDTO));
     }
 
     @Test
@@ -130,7 +248,10 @@ class StudentServiceTest {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
         StudentRequestDTO studentRequestDTO = new StudentRequestDTO("Anna", "Johns", dateFormat.parse("1999-05-05"),"Jaffna");
 
+        ReflectionTestUtils.setField(underTest, "precheckNames", true);
+
         //when
+        when(studentNameFilter.mightContain("Anna", "Johns")).thenReturn(true);
         when(studentRepository.findByFirstNameAndLastName(studentRequestDTO.getFirstName(), studentRequestDTO.getLastName()))
                 .thenReturn(Collections.singletonList(new Student()));
 
@@ -141,6 +262,97 @@ class StudentServiceTest {
 
     }
 
+    @Test
+    public void Should_SkipDuplicateQuery_When_NameFilterSaysNameIsNew() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        StudentRequestDTO studentRequestDTO= new StudentRequestDTO("Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
+        Student studentOutput= new Student(1L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
+
+        ReflectionTestUtils.setField(underTest, "precheckNames", true);
+
+        //when
+        when(studentNameFilter.mightContain("Anna", "Johns")).thenReturn(false);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(studentOutput);
+        Long actualOutput = underTest.saveStudent(studentRequestDTO);
+
+        //then
+        assertEquals(1L, actualOutput);
+        verify(studentRepository, Mockito.times(0)).findByFirstNameAndLastName(anyString(), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void Should_ReturnResultPerItem_When_GivenBatchWithNewDuplicateAndInvalidStudents() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        StudentRequestDTO newStudent = new StudentRequestDTO("Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo");
+        StudentRequestDTO existingStudent = new StudentRequestDTO("Bob", "Ronald", dateFormat.parse("1995-11-05"),"Galle");
+        StudentRequestDTO invalidStudent = new StudentRequestDTO("", "Silva", dateFormat.parse("1998-01-05"),"Kandy");
+        StudentRequestDTO repeatedStudent = new StudentRequestDTO("ANNA", "johns", dateFormat.parse("2001-05-05"),"Jaffna");
+        ConstraintViolation<StudentRequestDTO> violation = Mockito.mock(ConstraintViolation.class);
+        StudentNameView existingName = Mockito.mock(StudentNameView.class);
+
+        //when
+        when(violation.getMessage()).thenReturn("firstName should not be null or blank");
+        when(validator.validate(any(StudentRequestDTO.class))).thenAnswer(invocation ->
+                invocation.getArgument(0) == invalidStudent ? Set.of(violation) : Set.of());
+        when(studentNameFilter.mightContain(anyString(), anyString())).thenReturn(true);
+        when(existingName.getFirstName()).thenReturn("Bob");
+        when(existingName.getLastName()).thenReturn("Ronald");
+        when(studentRepository.findByFirstNameInAndLastNameIn(Set.of("Anna", "Bob"), Set.of("Johns", "Ronald")))
+                .thenReturn(List.of(existingName));
+        when(studentRepository.saveAll(anyList())).thenReturn(List.of(new Student(7L,"Anna", "Johns", dateFormat.parse("2000-05-05"),"Colombo")));
+        StudentBatchResponseDTO actualOutput = underTest.saveStudents(List.of(newStudent, existingStudent, invalidStudent, repeatedStudent));
+
+        //then
+        assertEquals(1, actualOutput.getAffectedRows());
+        assertEquals(BatchItemStatus.CREATED, actualOutput.getResults().get(0).getStatus());
+        assertEquals(7L, actualOutput.getResults().get(0).getId());
+        assertEquals(BatchItemStatus.DUPLICATE, actualOutput.getResults().get(1).getStatus());
+        assertEquals(BatchItemStatus.INVALID, actualOutput.getResults().get(2).getStatus());
+        assertEquals("firstName should not be null or blank", actualOutput.getResults().get(2).getMessage());
+        assertEquals(BatchItemStatus.DUPLICATE, actualOutput.getResults().get(3).getStatus());
+        verify(studentRepository, Mockito.times(1)).findByFirstNameInAndLastNameIn(any(), any());
+        verify(studentRepository, Mockito.times(0)).findByFirstNameAndLastName(anyString(), anyString());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    public void Should_MarkDuplicate_When_NameDiffersFromExistingOrBatchNameOnlyByAccents() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        StudentRequestDTO accentedExisting = new StudentRequestDTO("Jos\u00e9", "Silva", dateFormat.parse("2000-05-05"),"Colombo");
+        StudentRequestDTO newStudent = new StudentRequestDTO("Ren\u00e9e", "Perera", dateFormat.parse("1995-11-05"),"Galle");
+        StudentRequestDTO unaccentedRepeat = new StudentRequestDTO("Renee", "Perera ", dateFormat.parse("1998-01-05"),"Kandy");
+        StudentNameView existingName = Mockito.mock(StudentNameView.class);
+
+        //when
+        when(validator.validate(any(StudentRequestDTO.class))).thenReturn(Set.of());
+        when(studentNameFilter.mightContain(anyString(), anyString())).thenReturn(true);
+        when(existingName.getFirstName()).thenReturn("Jose");
+        when(existingName.getLastName()).thenReturn("Silva");
+        when(studentRepository.findByFirstNameInAndLastNameIn(any(), any())).thenReturn(List.of(existingName));
+        when(studentRepository.saveAll(anyList())).thenReturn(List.of(new Student(7L,"Ren\u00e9e", "Perera", dateFormat.parse("1995-11-05"),"Galle")));
+        StudentBatchResponseDTO actualOutput = underTest.saveStudents(List.of(accentedExisting, newStudent, unaccentedRepeat));
+
+        //then
+        assertEquals(1, actualOutput.getAffectedRows());
+        assertEquals(BatchItemStatus.DUPLICATE, actualOutput.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.CREATED, actualOutput.getResults().get(1).getStatus());
+        assertEquals(BatchItemStatus.DUPLICATE, actualOutput.getResults().get(2).getStatus());
+    }
+
+    @Test
+    public void Should_ThrowBatchSizeExceededException_When_GivenTooManyStudents(){
+        //given
+        List<StudentRequestDTO> students = Collections.nCopies(StudentService.MAX_BATCH_SIZE + 1, new StudentRequestDTO());
+
+        //then
+        assertThrows(BatchSizeExceededException.class, () -> underTest.saveStudents(students));
+        verify(studentRepository, Mockito.times(0)).saveAll(any());
+    }
+
     @Test
     public void Should_UpdateStudentAndReturnId_When_GivenStudentRequestDTOAndId() throws ParseException {
         //given
@@ -153,7 +365,7 @@ class StudentServiceTest {
 
         //when
         when(studentRepository.findById(id)).thenReturn(Optional.of(existingStudent));
-        when(studentRepository.save(changedStudentOutput)).thenReturn(changedStudentOutput);
+        when(studentRepository.saveAndFlush(changedStudentOutput)).thenReturn(changedStudentOutput);
         Long actualOutput = underTest.updateStudent(id, studentRequestDTO);
 
         assertEquals(changedStudentOutput.getId(), actualOutput);
@@ -189,6 +401,8 @@ class StudentServiceTest {
 
         //then
         assertEquals(id, actualOutput);
+        verify(eventPublisher).publishEvent(Mockito.<StudentChangedEvent>argThat(event ->
+                event.getType() == StudentChangedEvent.Type.DELETED && event.getIds().equals(List.of(id))));
     }
 
 
@@ -207,37 +421,161 @@ class StudentServiceTest {
     }
 
 
+    @Test
+    public void Should_BulkUpdateExistingIdsAndReportMissing_When_GivenIds() throws ParseException {
+        //given
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        StudentBulkUpdateRequestDTO request = new StudentBulkUpdateRequestDTO(List.of(1L, 2L, 1L, 33L), dateFormat.parse("2000-05-15"), " ");
+
+        //when
+        when(studentRepository.findExistingIds(Set.of(1L, 2L, 33L))).thenReturn(List.of(1L, 2L));
+        when(studentRepository.bulkUpdateAddressAndDateOfBirth(Set.of(1L, 2L), null, dateFormat.parse("2000-05-15"))).thenReturn(2);
+        StudentBatchResponseDTO actualOutput = underTest.updateStudents(request);
+
+        //then
+        assertEquals(2, actualOutput.getAffectedRows());
+        assertEquals(3, actualOutput.getResults().size());
+        assertEquals(BatchItemStatus.UPDATED, actualOutput.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.UPDATED, actualOutput.getResults().get(1).getStatus());
+        assertEquals(BatchItemStatus.NOT_FOUND, actualOutput.getResults().get(2).getStatus());
+        assertEquals(3, actualOutput.getResults().get(2).getIndex());
+        verify(studentRepository, Mockito.times(0)).findById(any());
+        verify(studentRepository, Mockito.times(0)).save(any());
+    }
+
+    @Test
+    public void Should_BulkDeleteExistingIdsAndReportMissing_When_GivenIds(){
+        //when
+        when(studentRepository.findExistingIds(Set.of(1L, 33L))).thenReturn(List.of(1L));
+        when(studentRepository.bulkDeleteByIds(Set.of(1L))).thenReturn(1);
+        StudentBatchResponseDTO actualOutput = underTest.deleteStudents(List.of(1L, 33L));
+
+        //then
+        assertEquals(1, actualOutput.getAffectedRows());
+        assertEquals(BatchItemStatus.DELETED, actualOutput.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.NOT_FOUND, actualOutput.getResults().get(1).getStatus());
+        verify(studentRepository, Mockito.times(0)).findById(any());
+        verify(studentRepository, Mockito.times(0)).deleteById(any());
+    }
+
+    @Test
+    public void Should_SkipBulkDelete_When_NoGivenIdExists(){
+        //when
+        when(studentRepository.findExistingIds(Set.of(33L))).thenReturn(List.of());
+        StudentBatchResponseDTO actualOutput = underTest.deleteStudents(List.of(33L));
+
+        //then
+        assertEquals(0, actualOutput.getAffectedRows());
+        assertEquals(BatchItemStatus.NOT_FOUND, actualOutput.getResults().get(0).getStatus());
+        verify(studentRepository, Mockito.times(0)).bulkDeleteByIds(any());
+    }
+
     @Test
     void Should_ReturnListOfStudentResponseDTO_WhenGivenSearchStringsArrayContainsInRecords() throws ParseException {
         //given
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
         String[] stringArray = {"Anuki", "Alwis" };
 
-        List<Student> searchResult = new ArrayList<>();
-        searchResult.add(new Student(1L,"Anuki", "Alwis",dateFormat.parse("2000-01-11"),"Colombo"));
+        List<StudentSearchHit> searchResult = new ArrayList<>();
+        searchResult.add(new StudentSearchHit(new StudentResponseDTO(1L,"Anuki", "Alwis",dateFormat.parse("2000-01-11"),"Colombo", 0L), 1.5));
 
 
         //when
-        when(studentRepository.findAll((Specification<Student>) any())).thenReturn(searchResult);
-        List<StudentResponseDTO> actualOutput = underTest.searchStudent(stringArray);
+        when(studentSearchIndex.search(stringArray, StudentSearchSort.RELEVANCE, null, StudentService.DEFAULT_PAGE_SIZE + 1)).thenReturn(searchResult);
+        StudentSearchPageResponseDTO actualOutput = underTest.searchStudent(stringArray, StudentSearchSort.RELEVANCE, null, StudentService.DEFAULT_PAGE_SIZE);
 
         //then
-        assertEquals(1, actualOutput.size());
+        assertEquals(1, actualOutput.getContent().size());
+        assertFalse(actualOutput.isHasNext());
+        assertNull(actualOutput.getNextCursor());
     }
 
     @Test
-    void Should_ReturnEmptyList_WhenSearchStringsNotContainsInRecords() throws ParseException {
+    void Should_ReturnEmptyList_WhenSearchStringsNotContainsInRecords() {
         //given
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
         String[] stringArray = {"Anuki", "Alwis" };
 
-        List<Student> searchResult = new ArrayList<>();
+        //when
+        when(studentSearchIndex.search(stringArray, StudentSearchSort.RELEVANCE, null, StudentService.DEFAULT_PAGE_SIZE + 1)).thenReturn(List.of());
+        StudentSearchPageResponseDTO actualOutput = underTest.searchStudent(stringArray, StudentSearchSort.RELEVANCE, null, StudentService.DEFAULT_PAGE_SIZE);
+
+        //then
+        assertEquals(0, actualOutput.getContent().size());
+    }
+
+    @Test
+    void Should_ReturnCursorOfLastHit_When_MoreSearchResultsThanPageSize() {
+        //given
+        String[] stringArray = {"Anuki"};
+        List<StudentSearchHit> searchResult = List.of(
+                new StudentSearchHit(new StudentResponseDTO(4L, "Anuki", "Alwis", null, "Colombo", 0L), 3.0),
+                new StudentSearchHit(new StudentResponseDTO(2L, "Anuki", "Perera", null, "Galle", 0L), 2.0),
+                new StudentSearchHit(new StudentResponseDTO(7L, "Anuki", "Silva", null, "Kandy", 0L), 1.0));
 
         //when
-        when(studentRepository.findAll((Specification<Student>) any())).thenReturn(searchResult);
-        List<StudentResponseDTO> actualOutput = underTest.searchStudent(stringArray);
+        when(studentSearchIndex.search(stringArray, StudentSearchSort.RELEVANCE, null, 3)).thenReturn(searchResult);
+        StudentSearchPageResponseDTO actualOutput = underTest.searchStudent(stringArray, StudentSearchSort.RELEVANCE, null, 2);
+        StudentSearchCursor cursor = StudentSearchCursor.decode(actualOutput.getNextCursor(), StudentSearchSort.RELEVANCE);
 
         //then
-        assertEquals(0, actualOutput.size());
+        assertEquals(List.of(4L, 2L), actualOutput.getContent().stream().map(StudentResponseDTO::getId).toList());
+        assertTrue(actualOutput.isHasNext());
+        assertEquals(2L, cursor.getId());
+        assertEquals(2.0, cursor.getScore());
+    }
+
+    @Test
+    void Should_ClampSearchPageSize_When_GivenOversizedPage(){
+        //given
+        String[] stringArray = {"Anuki"};
+
+        //when
+        when(studentSearchIndex.search(stringArray, StudentSearchSort.ID, null, StudentService.MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+        underTest.searchStudent(stringArray, StudentSearchSort.ID, null, 100_000);
+
+        //then
+        verify(studentSearchIndex).search(stringArray, StudentSearchSort.ID, null, StudentService.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void Should_ReturnFirstPageInIdOrder_When_SearchingWithoutKeywords(){
+        //given
+        List<StudentResponseDTO> students = List.of(
+                new StudentResponseDTO(1L, "Anuki", "Alwis", null, "Colombo", 0L),
+                new StudentResponseDTO(2L, "Kamal", "Perera", null, "Galle", 0L));
+
+        //when
+        when(studentRepository.findResponsesByIdGreaterThan(0L, Limit.of(2))).thenReturn(students);
+        StudentSearchPageResponseDTO actualOutput = underTest.searchStudent(new String[0], StudentSearchSort.RELEVANCE, null, 1);
+
+        //then
+        assertEquals(List.of(1L), actualOutput.getContent().stream().map(StudentResponseDTO::getId).toList());
+        assertTrue(actualOutput.isHasNext());
+        verifyNoInteractions(studentSearchIndex);
+    }
+
+    @Test
+    void Should_PageByLastName_When_SearchingWithoutKeywordsAfterCursor(){
+        //given
+        StudentSearchCursor cursor = StudentSearchCursor.after(StudentSearchSort.LAST_NAME,
+                StudentSearchHit.unscored(new StudentResponseDTO(5L, "Anuki", "Alwis", null, "Colombo", 0L)));
+
+        //when
+        when(studentRepository.findResponsesByLastNameAfter("Alwis", 5L, Limit.of(StudentService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(new StudentResponseDTO(2L, "Kamal", "Perera", null, "Galle", 0L)));
+        StudentSearchPageResponseDTO actualOutput = underTest.searchStudent(new String[0], StudentSearchSort.LAST_NAME, cursor, StudentService.DEFAULT_PAGE_SIZE);
+
+        //then
+        assertEquals(List.of(2L), actualOutput.getContent().stream().map(StudentResponseDTO::getId).toList());
+        assertFalse(actualOutput.isHasNext());
+    }
+
+    @Test
+    void Should_ClampSuggestionLimit_When_GivenOversizedLimit(){
+        //when
+        underTest.suggestStudents("an", 1000);
+
+        //then
+        verify(studentTrigramIndex).suggest("an", StudentService.MAX_SUGGESTION_LIMIT);
     }
 };
\ No newline at end of file
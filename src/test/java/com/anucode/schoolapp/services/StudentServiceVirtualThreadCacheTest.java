@@ -0,0 +1,61 @@
+package com.anucode.schoolapp.services;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.repositories.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * In the virtual-threads profile the student cache loads on a separate virtual thread, so the
+ * cache advisor has to wrap the transaction advisor for the load to run in a read-only transaction.
+ */
+@SpringBootTest(properties = {"schoolapp.search.backend=memory", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase
+@ActiveProfiles("virtual-threads")
+class StudentServiceVirtualThreadCacheTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @SpyBean
+    private StudentRepository studentRepository;
+
+    @Test
+    public void Should_LoadInReadOnlyTransaction_When_CacheMisses() throws Exception {
+        //given
+        Long id = 42L;
+        List<Boolean> transactionActive = new ArrayList<>();
+        List<Boolean> readOnly = new ArrayList<>();
+        List<Boolean> virtualThread = new ArrayList<>();
+        doAnswer(invocation -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            readOnly.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            virtualThread.add(Thread.currentThread().isVirtual());
+            return Optional.of(new StudentResponseDTO(id, "Nimal", "Fernando", null, "Galle", 0L));
+        }).when(studentRepository).findResponseById(anyLong());
+
+        //when
+        String firstName = studentService.getStudentById(id).getFirstName();
+        studentService.getStudentById(id);
+
+        //then
+        assertEquals("Nimal", firstName);
+        assertEquals(List.of(true), transactionActive);
+        assertEquals(List.of(true), readOnly);
+        assertEquals(List.of(true), virtualThread);
+        verify(studentRepository, times(1)).findResponseById(id);
+    }
+}
@@ -0,0 +1,102 @@
+package com.logging.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.anucode.schoolapp.controllers.StudentController;
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.services.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoggingAdviceTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingAdvice.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private LoggingAdvice loggingAdvice;
+    private StudentController studentController;
+
+    @BeforeEach
+    public void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+
+        loggingAdvice = new LoggingAdvice();
+        StudentController target = new StudentController();
+        StudentService studentService = mock(StudentService.class);
+        when(studentService.getStudentById(1L)).thenReturn(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L));
+        ReflectionTestUtils.setField(target, "studentService", studentService);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(loggingAdvice);
+        studentController = factory.getProxy();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    public void Should_LogParameterizedMessage_When_InfoEnabled() {
+        //when
+        studentController.getStudentById(1L);
+
+        //then
+        assertEquals(1, appender.list.size());
+        assertEquals("Request received : {}", appender.list.get(0).getMessage());
+        assertEquals("Request received : StudentController.getStudentById(..)", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    public void Should_NotLog_When_InfoDisabled() {
+        //given
+        logger.setLevel(Level.WARN);
+
+        //when
+        studentController.getStudentById(1L);
+
+        //then
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    public void Should_LogAtMostMaxRequestsPerSecond_When_RateLimited() {
+        //given
+        ReflectionTestUtils.setField(loggingAdvice, "maxRequestsPerSecond", 3);
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            studentController.getStudentById(1L);
+        }
+
+        //then
+        assertTrue(appender.list.size() >= 3 && appender.list.size() <= 6);
+    }
+
+    @Test
+    public void Should_NotLog_When_SampleRateIsZero() {
+        //given
+        ReflectionTestUtils.setField(loggingAdvice, "sampleRate", 0.0);
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            studentController.getStudentById(1L);
+        }
+
+        //then
+        assertTrue(appender.list.isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package com.logging.aspect;
+
+import com.anucode.schoolapp.dto.responseDto.StudentResponseDTO;
+import com.anucode.schoolapp.exceptions.ResourceNotFoundException;
+import com.anucode.schoolapp.services.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsAdviceTest {
+
+    private MeterRegistry meterRegistry;
+    private StudentService studentService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MetricsAdvice metricsAdvice = new MetricsAdvice();
+        ReflectionTestUtils.setField(metricsAdvice, "meterRegistry", meterRegistry);
+
+        StudentService target = mock(StudentService.class);
+        when(target.getStudentById(1L)).thenReturn(new StudentResponseDTO(1L, "Anna", "Johns", null, "Colombo", 0L));
+        when(target.getStudentById(2L)).thenThrow(new ResourceNotFoundException("id=2 Student not found!"));
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(metricsAdvice);
+        studentService = factory.getProxy();
+    }
+
+    @Test
+    public void Should_RecordTimerTaggedWithMethod_When_ServiceMethodReturns() {
+        //when
+        studentService.getStudentById(1L);
+        studentService.getStudentById(1L);
+
+        //then
+        Timer timer = meterRegistry.find(MetricsAdvice.METHOD_TIMER)
+                .tags("class", "StudentService", "method", "getStudentById", "exception", "none").timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    public void Should_RecordTimerTaggedWithException_When_ServiceMethodThrows() {
+        //when
+        assertThrows(ResourceNotFoundException.class, () -> studentService.getStudentById(2L));
+
+        //then
+        Timer timer = meterRegistry.find(MetricsAdvice.METHOD_TIMER)
+                .tags("method", "getStudentById", "exception", "ResourceNotFoundException").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}